@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+# Measures time from JVM launch to the first successful POST /api/games.
+#
+# Usage: scripts/startup-benchmark.sh [runs]
+# Benchmarks target/candycrush-*.jar and, if `mvn -Paot-cds package` was run,
+# the AOT + CDS build in target/cds as well.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+BASE_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$BASE_DIR"/target/candycrush-*.jar | grep -v original | head -n 1)"
+
+# Wall clock in milliseconds. `date +%s%3N` is GNU-only, so use bash 5's $EPOCHREALTIME and fall
+# back to python3 on older shells such as the bash 3.2 that ships with macOS.
+now_ms() {
+    if [ -n "${EPOCHREALTIME:-}" ]; then
+        local micros="${EPOCHREALTIME//[!0-9]/}" # Drops the decimal separator, whatever the locale
+        echo $(( micros / 1000 ))
+    else
+        python3 -c 'import time; print(int(time.time() * 1000))'
+    fi
+}
+
+# Runs one cold start and prints the milliseconds until a game was created.
+measure() {
+    local dir="$1"
+    shift
+    local start
+    start=$(now_ms)
+    (cd "$dir" && exec java "$@" -jar "$(basename "$JAR")" --server.port="$PORT" > /dev/null 2>&1) &
+    local pid=$!
+    local player_id=""
+    while true; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "application exited before serving requests" >&2
+            return 1
+        fi
+        if [ -z "$player_id" ]; then
+            player_id=$(curl -sf -X POST "http://localhost:$PORT/api/players" \
+                -H 'Content-Type: application/json' -d '{"name":"bench"}' \
+                | sed -n 's/.*"id":\([0-9]*\).*/\1/p' || true)
+        fi
+        if [ -n "$player_id" ] && curl -sf -o /dev/null -X POST "http://localhost:$PORT/api/games" \
+                -H 'Content-Type: application/json' -d "{\"playerId\":$player_id}"; then
+            break
+        fi
+        sleep 0.01
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    echo "$elapsed"
+}
+
+# Runs a configuration several times and prints each sample and the median.
+bench() {
+    local label="$1"
+    shift
+    local samples=()
+    for _ in $(seq 1 "$RUNS"); do
+        samples+=("$(measure "$@")")
+    done
+    local median
+    median=$(printf '%s\n' "${samples[@]}" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p")
+    printf '%-10s median %6d ms   samples: %s\n' "$label" "$median" "${samples[*]}"
+}
+
+bench "default" "$(dirname "$JAR")"
+if [ -f "$BASE_DIR/target/cds/application.jsa" ]; then
+    bench "aot+cds" "$BASE_DIR/target/cds" -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true
+fi
@@ -0,0 +1,43 @@
+package com.example.candycrush.cache;
+
+/**
+ * One version of a game state response, already serialized.
+ * The gzipped body is only present when the JSON is above the compression threshold.
+ */
+public class CachedGameState {
+
+    // Rough per-entry cost of the key, the node and this object on top of the byte arrays
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final long version;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public CachedGameState(long version, byte[] json, byte[] gzip) {
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    /**
+     * @return the gzipped JSON, or null if the payload is too small to be worth compressing
+     */
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * Approximate memory held by this entry, in bytes.
+     */
+    int weight() {
+        return ENTRY_OVERHEAD + json.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.candycrush.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Read-through near cache of serialized GET /api/games/{id} responses, keyed by game ID.
+ * Writes invalidate the entry of their game once they have committed, but only in the instance that
+ * made them. A read is served from the cache without touching the database while its entry is
+ * younger than the revalidation window; after that, one reader checks the entry against the stored
+ * version, reloading it if a write on another instance changed the game, while the other readers
+ * keep being served the entry. Concurrent misses on one game share a single load. Memory is bounded
+ * by the total size of the cached bodies; hit, miss, load and eviction counts are published under
+ * cache.* with the tag cache=gameState.
+ */
+@Component
+public class GameStateCache {
+
+    static final String NAME = "gameState";
+
+    private final Cache<Long, Entry> cache;
+    private final long revalidateAfterNanos;
+    private final LongSupplier clock;
+
+    @Autowired
+    public GameStateCache(MeterRegistry meterRegistry,
+                          @Value("${candycrush.cache.game-state.max-bytes:33554432}") long maxBytes,
+                          @Value("${candycrush.cache.game-state.expire-after-access-seconds:600}") long expireAfterAccessSeconds,
+                          @Value("${candycrush.cache.game-state.revalidate-after-ms:1000}") long revalidateAfterMs) {
+        this(meterRegistry, maxBytes, expireAfterAccessSeconds, revalidateAfterMs, System::nanoTime);
+    }
+
+    GameStateCache(MeterRegistry meterRegistry, long maxBytes, long expireAfterAccessSeconds, long revalidateAfterMs,
+                   LongSupplier clock) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Long id, Entry entry) -> entry.state.weight())
+                .expireAfterAccess(Duration.ofSeconds(expireAfterAccessSeconds))
+                .recordStats()
+                .build();
+        this.revalidateAfterNanos = TimeUnit.MILLISECONDS.toNanos(revalidateAfterMs);
+        this.clock = clock;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+        Gauge.builder("candycrush.cache.game-state.bytes", this, GameStateCache::weightedSize)
+                .description("Approximate memory held by cached game states")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached state of a game, loading it on a miss and checking it against the stored
+     * version once it is older than the revalidation window.
+     * Only one load and one version check run per game at a time. Exceptions thrown by the loader or
+     * the version lookup propagate to the caller and leave nothing cached, as does a null load.
+     * @param gameId the game ID
+     * @param versionLookup reads the stored version of the game, without its board
+     * @param loader reads and serializes the current state of the game, or returns null if it is gone
+     * @return the cached state, or null if the loader found no game
+     */
+    public CachedGameState get(Long gameId, ToLongFunction<Long> versionLookup,
+                               Function<Long, CachedGameState> loader) {
+        Entry entry = cache.get(gameId, id -> load(id, loader));
+        if (entry == null) {
+            return null;
+        }
+        if (clock.getAsLong() - entry.validatedAt < revalidateAfterNanos || !entry.revalidating.compareAndSet(false, true)) {
+            return entry.state; // Fresh, or another reader is already checking it
+        }
+        try {
+            if (versionLookup.applyAsLong(gameId) == entry.state.getVersion()) {
+                entry.validatedAt = clock.getAsLong();
+                return entry.state;
+            }
+        } catch (RuntimeException e) {
+            cache.asMap().remove(gameId, entry);
+            throw e;
+        } finally {
+            entry.revalidating.set(false);
+        }
+        cache.asMap().remove(gameId, entry); // Keeps an entry another caller has reloaded meanwhile
+        Entry reloaded = cache.get(gameId, id -> load(id, loader));
+        return reloaded != null ? reloaded.state : null;
+    }
+
+    private Entry load(Long gameId, Function<Long, CachedGameState> loader) {
+        CachedGameState state = loader.apply(gameId);
+        return state != null ? new Entry(state, clock.getAsLong()) : null; // Caffeine caches nothing for null
+    }
+
+    /**
+     * Drops the cached state of a game. Call after the change to the game has committed.
+     * @param gameId the game ID
+     */
+    public void invalidate(Long gameId) {
+        cache.invalidate(gameId);
+    }
+
+    /**
+     * Drops the cached states of several games. Call after the changes have committed.
+     * @param gameIds the game IDs
+     */
+    public void invalidateAll(Collection<Long> gameIds) {
+        cache.invalidateAll(gameIds);
+    }
+
+    /**
+     * Approximate memory held by the cache, after pending evictions have run.
+     */
+    long weightedSize() {
+        cache.cleanUp();
+        return cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /**
+     * A cached state and when it was last known to match the stored version.
+     */
+    private static final class Entry {
+        final CachedGameState state;
+        final AtomicBoolean revalidating = new AtomicBoolean();
+        volatile long validatedAt;
+
+        Entry(CachedGameState state, long validatedAt) {
+            this.state = state;
+            this.validatedAt = validatedAt;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.candycrush.config;
+
+import com.example.candycrush.controller.LeaderboardEntry;
+import com.example.candycrush.dto.CascadeStep;
+import com.example.candycrush.dto.CascadeTraceResponse;
+import com.example.candycrush.dto.DailyChallengeResponse;
+import com.example.candycrush.dto.DailyStanding;
+import com.example.candycrush.dto.GameResponse;
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.dto.NewGameRequest;
+import com.example.candycrush.dto.PlayerStatsResponse;
+import com.example.candycrush.dto.RaceRequest;
+import com.example.candycrush.dto.RaceResponse;
+import com.example.candycrush.dto.RaceStanding;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import com.example.candycrush.model.TileType;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.ExecutableMode;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for the Jackson paths of the API and the stored board JSON,
+ * so an AOT-optimized build binds them exactly like the regular one.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(CandycrushRuntimeHints.class)
+public class CandycrushRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+        bindingRegistrar.registerReflectionHints(hints.reflection(),
+                Tile.class, Player.class, MoveRequest.class, NewGameRequest.class, RaceRequest.class,
+                LeaderboardEntry.class);
+        // Boards are read and written as Tile[][] both from the database and in responses
+        hints.reflection().registerType(Tile[][].class, MemberCategory.values());
+        hints.reflection().registerType(Tile[].class, MemberCategory.values());
+        // Tiles are immutable flyweights created through their @JsonCreator factories
+        hints.reflection().registerMethod(findMethod(Tile.class, "of", TileColor.class, TileType.class), ExecutableMode.INVOKE);
+        hints.reflection().registerMethod(findMethod(TileType.class, "fromJson", String.class), ExecutableMode.INVOKE);
+        hints.reflection().registerType(TileColor.class, MemberCategory.values());
+        // Responses are serialized through their public fields, which binding hints do not cover
+        for (Class<?> response : new Class<?>[] {GameResponse.class, RaceResponse.class, RaceStanding.class,
+                PlayerStatsResponse.class, CascadeTraceResponse.class, CascadeStep.class,
+                DailyChallengeResponse.class, DailyStanding.class}) {
+            hints.reflection().registerType(response,
+                    MemberCategory.PUBLIC_FIELDS, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+
+    private static java.lang.reflect.Method findMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.candycrush.config;
+
+import com.example.candycrush.model.Player;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Map;
+
+/**
+ * Scripted startup used to train the Class Data Sharing archive (see the aot-cds Maven profile).
+ * When candycrush.cds.training is set, drives one player through a game over HTTP so the
+ * request, Jackson and Hibernate paths are loaded, then exits the JVM.
+ * Enabled by property rather than @Profile because profiles are fixed at AOT build time.
+ */
+@Component
+public class CdsTrainingRunner implements ApplicationRunner {
+
+    private final boolean enabled;
+    private final Environment environment;
+    private final ConfigurableApplicationContext context;
+
+    public CdsTrainingRunner(@Value("${candycrush.cds.training:false}") boolean enabled,
+                             Environment environment, ConfigurableApplicationContext context) {
+        this.enabled = enabled;
+        this.environment = environment;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        RestClient client = RestClient.create("http://localhost:" + environment.getProperty("local.server.port"));
+        Player player = client.post().uri("/api/players").contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("name", "cds-training")).retrieve().body(Player.class);
+        Map<?, ?> game = client.post().uri("/api/games").contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("playerId", player.getId())).retrieve().body(Map.class);
+        Object gameId = game.get("id");
+        for (int col = 0; col < 7; col++) {
+            client.post().uri("/api/games/{id}/moves", gameId).contentType(MediaType.APPLICATION_JSON)
+                    .body(Map.of("fromRow", 0, "fromCol", col, "toRow", 0, "toCol", col + 1))
+                    .retrieve().body(String.class);
+        }
+        client.get().uri("/api/games/{id}", gameId).retrieve().body(String.class);
+        client.get().uri("/api/games/leaderboard").retrieve().body(String.class);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.candycrush.config;
+
+import com.example.candycrush.service.DailyChallengeService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Offline run of the daily challenge job, so the solver can run away from the serving instances.
+ * When candycrush.daily.prepare-and-exit is set, generates and solves the upcoming challenges
+ * once, then exits the JVM. A failure fails the startup, so the JVM exits with an error status.
+ * Enabled by property rather than @Profile because profiles are fixed at AOT build time.
+ */
+@Component
+public class DailyChallengeRunner implements ApplicationRunner {
+
+    private final boolean enabled;
+    private final DailyChallengeService dailyChallengeService;
+    private final ConfigurableApplicationContext context;
+
+    public DailyChallengeRunner(@Value("${candycrush.daily.prepare-and-exit:false}") boolean enabled,
+                                DailyChallengeService dailyChallengeService, ConfigurableApplicationContext context) {
+        this.enabled = enabled;
+        this.dailyChallengeService = dailyChallengeService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        dailyChallengeService.prepare(DailyChallengeService.today());
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.candycrush.config;
+
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.MatchScanner;
+import com.example.candycrush.engine.MatchScanners;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration(proxyBeanMethods = false)
+public class EngineConfig {
+
+    /**
+     * The vector scanner is used when enabled and the JVM was started with
+     * --add-modules jdk.incubator.vector; otherwise the scalar scanner.
+     */
+    @Bean
+    public MatchScanner matchScanner(@Value("${candycrush.engine.vector-scan:true}") boolean vectorScan) {
+        return MatchScanners.create(vectorScan);
+    }
+
+    @Bean
+    public CascadeExecutor cascadeExecutor(MatchScanner matchScanner, MeterRegistry meterRegistry,
+                                           @Value("${candycrush.cascade.max-depth:" + CascadeExecutor.DEFAULT_MAX_DEPTH + "}") int maxDepth,
+                                           @Value("${candycrush.cascade.time-budget-ms:" + CascadeExecutor.DEFAULT_TIME_BUDGET_MS + "}") long timeBudgetMs) {
+        return new CascadeExecutor(matchScanner, maxDepth, Duration.ofMillis(timeBudgetMs), meterRegistry);
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.candycrush.controller;
+
+import com.example.candycrush.dto.GameResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes game state responses and gzips them when the client accepts it and the payload
+ * is above the size threshold. Compression is done here rather than by the servlet container
+ * because the container will not compress responses that carry a strong ETag.
+ */
+@Component
+public class BoardPayloadEncoder {
+
+    static final String GZIP = "gzip";
+
+    private final ObjectMapper objectMapper;
+    private final int compressionThreshold;
+
+    public BoardPayloadEncoder(ObjectMapper objectMapper,
+                               @Value("${candycrush.board.compression-threshold:1024}") int compressionThreshold) {
+        this.objectMapper = objectMapper;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Serializes a response to JSON.
+     * @param response the response
+     * @return the JSON bytes
+     */
+    public byte[] toJson(GameResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing game state", e);
+        }
+    }
+
+    /**
+     * Returns true if a payload of the given size should be gzipped for this Accept-Encoding header.
+     */
+    public boolean shouldCompress(int length, String acceptEncoding) {
+        return shouldCompress(length) && acceptsGzip(acceptEncoding);
+    }
+
+    /**
+     * Returns true if a payload of the given size is large enough to be worth gzipping.
+     */
+    public boolean shouldCompress(int length) {
+        return length >= compressionThreshold;
+    }
+
+    /**
+     * Gzips a payload.
+     * @param json the uncompressed bytes
+     * @return the gzipped bytes
+     */
+    public byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim();
+            if (!coding.equalsIgnoreCase(GZIP) && !coding.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        rejected = Double.parseDouble(param.substring(2)) == 0;
+                    } catch (NumberFormatException e) {
+                        rejected = true;
+                    }
+                }
+            }
+            return !rejected;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.candycrush.controller;
+
+import com.example.candycrush.dto.DailyChallengeResponse;
+import com.example.candycrush.dto.DailyStanding;
+import com.example.candycrush.model.DailyChallenge;
+import com.example.candycrush.service.DailyChallengeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Daily challenge info and leaderboard. Daily games are started through POST /api/games with mode DAILY.
+ */
+@RestController
+@RequestMapping("/api/daily")
+@CrossOrigin(origins = "*")
+public class DailyChallengeController {
+
+    @Autowired
+    private DailyChallengeService dailyChallengeService;
+
+    @GetMapping
+    public DailyChallengeResponse getToday() {
+        return toResponse(dailyChallengeService.getChallenge(DailyChallengeService.today()));
+    }
+
+    @GetMapping("/{day}")
+    public DailyChallengeResponse getDay(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate day) {
+        return toResponse(dailyChallengeService.getChallenge(day));
+    }
+
+    private DailyChallengeResponse toResponse(DailyChallenge challenge) {
+        // Top 10 of the live and the archived games of the day, merged
+        List<DailyStanding> standings = Stream.concat(
+                dailyChallengeService.getTopGames(challenge.getDay()).stream()
+                        .map(g -> new DailyStanding(g.getId(), g.getPlayer().getName(), g.getScore(), null)),
+                dailyChallengeService.getTopArchivedGames(challenge.getDay()).stream()
+                        .map(g -> new DailyStanding(g.getId(), g.getPlayer().getName(), g.getScore(), null)))
+                .sorted(Comparator.comparingInt((DailyStanding s) -> s.score).reversed())
+                .limit(10)
+                .collect(Collectors.toList());
+        // The solver's score is a lower bound on the optimum, so a player who beats it sets the new 100%
+        Integer best = challenge.getBestScore();
+        if (best != null && !standings.isEmpty()) {
+            best = Math.max(best, standings.get(0).score);
+        }
+        if (best != null) {
+            for (DailyStanding standing : standings) {
+                standing.percentOfBest = best > 0 ? 100.0 * standing.score / best : 100.0;
+            }
+        }
+        return new DailyChallengeResponse(challenge.getDay(), challenge.getMoveBudget(), best, standings);
+    }
+}
@@ -1,15 +1,31 @@
 package com.example.candycrush.controller;
 
+import com.example.candycrush.cache.CachedGameState;
+import com.example.candycrush.cache.GameStateCache;
 import com.example.candycrush.dto.MoveRequest;
 import com.example.candycrush.dto.NewGameRequest;
 import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
 import com.example.candycrush.dto.GameResponse;
 import com.example.candycrush.model.Tile;
+import com.example.candycrush.service.AsyncGameService;
+import com.example.candycrush.service.DailyChallengeService;
 import com.example.candycrush.service.GameService;
+import com.example.candycrush.service.MoveResult;
+import com.example.candycrush.service.TimedGameService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/games")
@@ -19,25 +35,128 @@ public class GameController {
     @Autowired
     private GameService gameService;
 
+    @Autowired
+    private AsyncGameService asyncGameService;
+
+    @Autowired
+    private TimedGameService timedGameService;
+
+    @Autowired
+    private DailyChallengeService dailyChallengeService;
+
+    @Autowired
+    private BoardPayloadEncoder boardPayloadEncoder;
+
+    @Autowired
+    private GameStateCache gameStateCache;
+
     @PostMapping
     public GameResponse startNewGame(@RequestBody NewGameRequest request) {
-        Game game = gameService.createNewGame(request.getPlayerId());
+        GameMode mode = request.getMode() != null ? request.getMode() : GameMode.CLASSIC;
+        Game game;
+        switch (mode) {
+            case CLASSIC -> game = gameService.createNewGame(request.getPlayerId());
+            case TIMED -> game = timedGameService.createTimedGame(request.getPlayerId(), request.getDurationSeconds());
+            case DAILY -> game = dailyChallengeService.startGame(request.getPlayerId());
+            default -> throw new IllegalArgumentException("Race games are created through /api/races");
+        }
         Tile[][] board = parseBoard(game.getBoard());
-        return new GameResponse(game.getId(), game.getPlayer(), board, game.getScore());
+        return new GameResponse(game, board);
     }
 
     @GetMapping("/{id}")
-    public GameResponse getGameState(@PathVariable Long id) {
-        Game game = gameService.getGameState(id);
-        Tile[][] board = parseBoard(game.getBoard());
-        return new GameResponse(game.getId(), game.getPlayer(), board, game.getScore());
+    public ResponseEntity<byte[]> getGameState(@PathVariable Long id,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Hits need neither the database nor Jackson; an entry past its revalidation window costs one
+        // version query, made by one of its readers. Archived games have left the games table: a missing
+        // version never matches, so a cached entry of a game archived since is reloaded and dropped
+        CachedGameState state = gameStateCache.get(id, gameId -> gameService.findGameVersion(gameId).orElse(-1L),
+                this::loadGameState);
+        if (state == null) {
+            return ResponseEntity.notFound().build();
+        }
+        long version = state.getVersion();
+        if (ifNoneMatch != null && (ifNoneMatch.contains(boardETag(id, version, false))
+                || ifNoneMatch.contains(boardETag(id, version, true)) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(boardETag(id, version, BoardPayloadEncoder.acceptsGzip(acceptEncoding)))
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = state.getGzip() != null && BoardPayloadEncoder.acceptsGzip(acceptEncoding);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, BoardPayloadEncoder.GZIP);
+        }
+        return response.eTag(boardETag(id, version, gzip)).body(gzip ? state.getGzip() : state.getJson());
+    }
+
+    /**
+     * Reads a game and serializes its state response, gzipping it as well when it is large enough.
+     * Returns null if the game does not exist or has been archived.
+     */
+    private CachedGameState loadGameState(Long id) {
+        Game game = gameService.findGame(id).orElse(null);
+        if (game == null) {
+            return null;
+        }
+        byte[] json = boardPayloadEncoder.toJson(new GameResponse(game, parseBoard(game.getBoard())));
+        byte[] gzip = boardPayloadEncoder.shouldCompress(json.length) ? boardPayloadEncoder.gzip(json) : null;
+        return new CachedGameState(game.getVersion(), json, gzip);
     }
 
     @PostMapping("/{id}/moves")
-    public GameResponse makeMove(@PathVariable Long id, @RequestBody MoveRequest request) {
-        Game game = gameService.makeMove(id, request.getFromRow(), request.getFromCol(), request.getToRow(), request.getToCol());
-        Tile[][] board = parseBoard(game.getBoard());
-        return new GameResponse(game.getId(), game.getPlayer(), board, game.getScore());
+    public GameResponse makeMove(@PathVariable Long id, @RequestBody MoveRequest request,
+                                 @RequestParam(defaultValue = "false") boolean debug) {
+        MoveResult result = gameService.makeMove(id, request.getFromRow(), request.getFromCol(),
+                request.getToRow(), request.getToCol(), debug);
+        return toMoveResponse(result);
+    }
+
+    @PostMapping("/{id}/moves/async")
+    public CompletableFuture<GameResponse> makeMoveAsync(@PathVariable Long id, @RequestBody MoveRequest request,
+                                                         @RequestParam(defaultValue = "false") boolean debug) {
+        return asyncGameService.makeMove(id, request.getFromRow(), request.getFromCol(), request.getToRow(), request.getToCol(), debug)
+                .thenApply(this::toMoveResponse);
+    }
+
+    private GameResponse toMoveResponse(MoveResult result) {
+        Game game = result.getGame();
+        GameResponse response = new GameResponse(game, parseBoard(game.getBoard()));
+        response.cascade = result.getCascade();
+        return response;
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Void> handleMoveOverload() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1").build();
+    }
+
+    /**
+     * No Retry-After: a move that timed out during its save may have been applied, so clients
+     * should re-read the game before sending it again.
+     */
+    @ExceptionHandler(TimeoutException.class)
+    public ResponseEntity<Void> handleMoveTimeout() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    /**
+     * Another move on the same game was saved first; this one was not applied, and the client
+     * should re-read the board before choosing its move again.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConcurrentMove() {
+        return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * Strong ETag for one version of a game board; gzipped bodies get their own tag.
+     */
+    private static String boardETag(Long id, long version, boolean gzip) {
+        return "\"" + id + "-" + version + (gzip ? "-gzip" : "") + "\"";
     }
 
     private Tile[][] parseBoard(String boardJson) {
@@ -52,13 +171,21 @@ public class GameController {
     @Autowired
     private com.example.candycrush.repository.GameRepository gameRepository;
 
+    @Autowired
+    private com.example.candycrush.repository.ArchivedGameRepository archivedGameRepository;
+
+    /**
+     * Top 10 scores across live and archived games: the top 10 of each table, merged.
+     */
     @GetMapping("/leaderboard")
     public List<com.example.candycrush.controller.LeaderboardEntry> getLeaderboard() {
-        return gameRepository.findAll().stream()
-                .filter(g -> g.getPlayer() != null)
-                .sorted((g1, g2) -> Integer.compare(g2.getScore(), g1.getScore()))
+        Stream<LeaderboardEntry> live = gameRepository.findTop10ByPlayerIsNotNullOrderByScoreDesc().stream()
+                .map(g -> new LeaderboardEntry(g.getPlayer().getName(), g.getScore()));
+        Stream<LeaderboardEntry> archived = archivedGameRepository.findTop10ByPlayerIsNotNullOrderByScoreDesc().stream()
+                .map(g -> new LeaderboardEntry(g.getPlayer().getName(), g.getScore()));
+        return Stream.concat(live, archived)
+                .sorted((e1, e2) -> Integer.compare(e2.getScore(), e1.getScore()))
                 .limit(10)
-                .map(g -> new com.example.candycrush.controller.LeaderboardEntry(g.getPlayer().getName(), g.getScore()))
                 .collect(Collectors.toList());
     }
 }
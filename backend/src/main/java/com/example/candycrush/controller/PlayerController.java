@@ -1,7 +1,9 @@
 package com.example.candycrush.controller;
 
+import com.example.candycrush.dto.PlayerStatsResponse;
 import com.example.candycrush.model.Player;
 import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.service.PlayerStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,6 +15,9 @@ public class PlayerController {
     @Autowired
     private PlayerRepository playerRepository;
 
+    @Autowired
+    private PlayerStatsService playerStatsService;
+
     @PostMapping
     public Player createPlayer(@RequestBody Player player) {
         return playerRepository.save(player);
@@ -22,4 +27,9 @@ public class PlayerController {
     public Player getPlayer(@PathVariable Long id) {
         return playerRepository.findById(id).orElse(null);
     }
+
+    @GetMapping("/{id}/stats")
+    public PlayerStatsResponse getPlayerStats(@PathVariable Long id) {
+        return playerStatsService.getStats(id);
+    }
 }
@@ -0,0 +1,47 @@
+package com.example.candycrush.controller;
+
+import com.example.candycrush.dto.RaceRequest;
+import com.example.candycrush.dto.RaceResponse;
+import com.example.candycrush.dto.RaceStanding;
+import com.example.candycrush.model.Race;
+import com.example.candycrush.service.TimedGameService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@RestController
+@RequestMapping("/api/races")
+@CrossOrigin(origins = "*")
+public class RaceController {
+
+    @Autowired
+    private TimedGameService timedGameService;
+
+    @PostMapping
+    public RaceResponse createRace(@RequestBody RaceRequest request) {
+        Race race = timedGameService.createRace(request.getPlayerIds(), request.getDurationSeconds());
+        return toResponse(race);
+    }
+
+    @GetMapping("/{id}")
+    public RaceResponse getRace(@PathVariable Long id) {
+        return toResponse(timedGameService.getRace(id));
+    }
+
+    private RaceResponse toResponse(Race race) {
+        // Games of a finished race may already have moved to the archive
+        List<RaceStanding> standings = Stream.concat(
+                timedGameService.getRaceGames(race.getId()).stream()
+                        .map(g -> new RaceStanding(g.getId(), g.getPlayer().getId(), g.getPlayer().getName(), g.getScore())),
+                timedGameService.getArchivedRaceGames(race.getId()).stream()
+                        .map(g -> new RaceStanding(g.getId(), g.getPlayer().getId(), g.getPlayer().getName(), g.getScore())))
+                .sorted(Comparator.comparingInt((RaceStanding s) -> s.score).reversed())
+                .collect(Collectors.toList());
+        String winner = race.getWinner() != null ? race.getWinner().getName() : null;
+        return new RaceResponse(race.getId(), race.getStatus(), race.getEndsAt(), standings, winner);
+    }
+}
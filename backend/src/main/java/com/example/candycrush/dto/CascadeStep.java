@@ -0,0 +1,15 @@
+package com.example.candycrush.dto;
+
+public class CascadeStep {
+    public int step;
+    public int runs;
+    public int tilesCleared;
+    public int columnsRefilled;
+
+    public CascadeStep(int step, int runs, int tilesCleared, int columnsRefilled) {
+        this.step = step;
+        this.runs = runs;
+        this.tilesCleared = tilesCleared;
+        this.columnsRefilled = columnsRefilled;
+    }
+}
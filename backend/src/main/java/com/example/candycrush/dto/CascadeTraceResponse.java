@@ -0,0 +1,29 @@
+package com.example.candycrush.dto;
+
+import com.example.candycrush.engine.CascadeTrace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Debug view of a move's cascade, copied out of the executor's reusable trace.
+ */
+public class CascadeTraceResponse {
+    public List<CascadeStep> steps;
+    public CascadeTrace.Stop stop;
+    public long elapsedMicros;
+
+    public CascadeTraceResponse(List<CascadeStep> steps, CascadeTrace.Stop stop, long elapsedMicros) {
+        this.steps = steps;
+        this.stop = stop;
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public static CascadeTraceResponse of(CascadeTrace trace) {
+        List<CascadeStep> steps = new ArrayList<>(trace.getDepth());
+        for (int i = 0; i < trace.getDepth(); i++) {
+            steps.add(new CascadeStep(i + 1, trace.getRuns(i), trace.getTilesCleared(i), trace.getColumnsRefilled(i)));
+        }
+        return new CascadeTraceResponse(steps, trace.getStop(), trace.getElapsedNanos() / 1000);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.candycrush.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DailyChallengeResponse {
+    public LocalDate day;
+    public int moveBudget;
+    public Integer bestScore; // Best of the solver's score and the players' scores, null until solved
+    public List<DailyStanding> standings; // Top 10, highest score first
+
+    public DailyChallengeResponse(LocalDate day, int moveBudget, Integer bestScore, List<DailyStanding> standings) {
+        this.day = day;
+        this.moveBudget = moveBudget;
+        this.bestScore = bestScore;
+        this.standings = standings;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.candycrush.dto;
+
+public class DailyStanding {
+    public Long gameId;
+    public String playerName;
+    public int score;
+    public Double percentOfBest; // Score as a percentage of the best known score, null until the challenge is solved
+
+    public DailyStanding(Long gameId, String playerName, int score, Double percentOfBest) {
+        this.gameId = gameId;
+        this.playerName = playerName;
+        this.score = score;
+        this.percentOfBest = percentOfBest;
+    }
+}
@@ -1,13 +1,26 @@
 package com.example.candycrush.dto;
 
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
 import com.example.candycrush.model.Player;
 import com.example.candycrush.model.Tile;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
 
 public class GameResponse {
     public Long id;
     public Player player;
     public Tile[][] board;
     public int score;
+    public GameMode mode;
+    public GameStatus status;
+    public Instant endsAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public Integer movesLeft; // Only for games with a move budget
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public CascadeTraceResponse cascade; // Only on move responses requested with debug=true
 
     public GameResponse(Long id, Player player, Tile[][] board, int score) {
         this.id = id;
@@ -15,4 +28,12 @@ public class GameResponse {
         this.board = board;
         this.score = score;
     }
+
+    public GameResponse(Game game, Tile[][] board) {
+        this(game.getId(), game.getPlayer(), board, game.getScore());
+        this.mode = game.getMode();
+        this.status = game.getStatus();
+        this.endsAt = game.getEndsAt();
+        this.movesLeft = game.getMoveLimit() != null ? game.getMoveLimit() - game.getMoveCount() : null;
+    }
 }
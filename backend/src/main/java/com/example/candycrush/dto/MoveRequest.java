@@ -6,6 +6,16 @@ public class MoveRequest {
     private int toRow;
     private int toCol;
 
+    public MoveRequest() {
+    }
+
+    public MoveRequest(int fromRow, int fromCol, int toRow, int toCol) {
+        this.fromRow = fromRow;
+        this.fromCol = fromCol;
+        this.toRow = toRow;
+        this.toCol = toCol;
+    }
+
     public int getFromRow() {
         return fromRow;
     }
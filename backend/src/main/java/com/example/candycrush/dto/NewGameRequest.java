@@ -1,7 +1,11 @@
 package com.example.candycrush.dto;
 
+import com.example.candycrush.model.GameMode;
+
 public class NewGameRequest {
     private Long playerId;
+    private GameMode mode; // Defaults to CLASSIC
+    private Integer durationSeconds; // Required for TIMED games
 
     public Long getPlayerId() {
         return playerId;
@@ -10,4 +14,20 @@ public class NewGameRequest {
     public void setPlayerId(Long playerId) {
         this.playerId = playerId;
     }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public void setMode(GameMode mode) {
+        this.mode = mode;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(Integer durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
 }
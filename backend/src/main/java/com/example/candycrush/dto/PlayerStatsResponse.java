@@ -0,0 +1,22 @@
+package com.example.candycrush.dto;
+
+public class PlayerStatsResponse {
+    public Long playerId;
+    public long gamesPlayed;
+    public long totalScore;
+    public int bestScore;
+    public double averageScore;
+    public long tilesCleared;
+    public long movesMade;
+
+    public PlayerStatsResponse(Long playerId, long gamesPlayed, long totalScore, int bestScore,
+                               long tilesCleared, long movesMade) {
+        this.playerId = playerId;
+        this.gamesPlayed = gamesPlayed;
+        this.totalScore = totalScore;
+        this.bestScore = bestScore;
+        this.averageScore = gamesPlayed == 0 ? 0 : (double) totalScore / gamesPlayed;
+        this.tilesCleared = tilesCleared;
+        this.movesMade = movesMade;
+    }
+}
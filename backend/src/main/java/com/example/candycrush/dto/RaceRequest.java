@@ -0,0 +1,24 @@
+package com.example.candycrush.dto;
+
+import java.util.List;
+
+public class RaceRequest {
+    private List<Long> playerIds;
+    private int durationSeconds;
+
+    public List<Long> getPlayerIds() {
+        return playerIds;
+    }
+
+    public void setPlayerIds(List<Long> playerIds) {
+        this.playerIds = playerIds;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.candycrush.dto;
+
+import com.example.candycrush.model.GameStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+public class RaceResponse {
+    public Long id;
+    public GameStatus status;
+    public Instant endsAt;
+    public List<RaceStanding> standings; // One entry per racer, highest score first
+    public String winner; // Set once the race is finished
+
+    public RaceResponse(Long id, GameStatus status, Instant endsAt, List<RaceStanding> standings, String winner) {
+        this.id = id;
+        this.status = status;
+        this.endsAt = endsAt;
+        this.standings = standings;
+        this.winner = winner;
+    }
+}
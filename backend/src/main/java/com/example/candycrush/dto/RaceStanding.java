@@ -0,0 +1,15 @@
+package com.example.candycrush.dto;
+
+public class RaceStanding {
+    public Long gameId;
+    public Long playerId;
+    public String playerName;
+    public int score;
+
+    public RaceStanding(Long gameId, Long playerId, String playerName, int score) {
+        this.gameId = gameId;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.score = score;
+    }
+}
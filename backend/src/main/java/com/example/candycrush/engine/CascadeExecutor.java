@@ -0,0 +1,249 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Resolves the cascade after a move: clear every match, let the tiles above fall, refill the
+ * columns from the top, and repeat until the board settles.
+ * The loop is bounded by a maximum number of steps and a time budget, so a pathological board cannot
+ * hold a request thread. When either is hit it recolors the tiles of the remaining matches in place,
+ * without scoring them, so the saved board has no match left for the next move to credit. Each step
+ * is recorded in a per-thread {@link CascadeTrace}, and every cascade reports its depth, tiles
+ * cleared and duration to metrics.
+ */
+public class CascadeExecutor {
+
+    /** Default maximum number of clear-and-refill steps of one move. */
+    public static final int DEFAULT_MAX_DEPTH = 50;
+
+    /** Default time budget of one move's cascade, in milliseconds. */
+    public static final long DEFAULT_TIME_BUDGET_MS = 50;
+
+    private static final TileColor[] COLORS = TileColor.values();
+
+    private final MatchScanner matchScanner;
+    private final int maxDepth;
+    private final long timeBudgetNanos;
+    private final ThreadLocal<CascadeTrace> traces;
+    private final DistributionSummary depthSummary;
+    private final DistributionSummary clearedSummary;
+    private final Timer cascadeTimer;
+    private final Counter stoppedAtMaxDepth;
+    private final Counter stoppedAtTimeBudget;
+
+    public CascadeExecutor(MatchScanner matchScanner, int maxDepth, Duration timeBudget, MeterRegistry meterRegistry) {
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Cascade max depth must be positive");
+        }
+        this.matchScanner = matchScanner;
+        this.maxDepth = maxDepth;
+        this.timeBudgetNanos = timeBudget.toNanos();
+        this.traces = ThreadLocal.withInitial(() -> new CascadeTrace(maxDepth));
+        this.depthSummary = DistributionSummary.builder("candycrush.cascade.depth")
+                .description("Clear-and-refill steps per move")
+                .register(meterRegistry);
+        this.clearedSummary = DistributionSummary.builder("candycrush.cascade.tiles.cleared")
+                .description("Tiles cleared per move, all cascade steps included")
+                .register(meterRegistry);
+        this.cascadeTimer = Timer.builder("candycrush.cascade.duration")
+                .description("Time spent resolving the cascade of a move")
+                .register(meterRegistry);
+        this.stoppedAtMaxDepth = stopCounter(meterRegistry, "max_depth");
+        this.stoppedAtTimeBudget = stopCounter(meterRegistry, "time");
+    }
+
+    private static Counter stopCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("candycrush.cascade.truncated")
+                .description("Cascades stopped by a guard before the board settled")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    /**
+     * Resolves the cascade on the board in place.
+     * @param board the board, right after the swap
+     * @param random source of the refill colors
+     * @return this thread's trace, valid until its next cascade
+     */
+    public CascadeTrace run(Tile[][] board, Random random) {
+        return run(board, random, false);
+    }
+
+    /**
+     * Resolves the cascade on the board in place.
+     * A replayable cascade ignores the time budget and is only bounded by the maximum depth, so its
+     * outcome depends on nothing but the board and the refill colors.
+     * @param board the board, right after the swap
+     * @param random source of the refill colors
+     * @param replayable whether to skip the time budget
+     * @return this thread's trace, valid until its next cascade
+     */
+    public CascadeTrace run(Tile[][] board, Random random, boolean replayable) {
+        CascadeTrace trace = traces.get();
+        trace.reset();
+        long start = System.nanoTime();
+        CascadeTrace.Stop stop = CascadeTrace.Stop.SETTLED;
+        while (true) {
+            boolean[][] matched = matchScanner.findMatches(board);
+            int runs = countRuns(board, matched);
+            if (runs == 0) {
+                break;
+            }
+            if (trace.getDepth() == maxDepth) {
+                stop = CascadeTrace.Stop.MAX_DEPTH;
+                dissolveMatches(board, matched, random);
+                break;
+            }
+            if (!replayable && trace.getDepth() > 0 && System.nanoTime() - start > timeBudgetNanos) {
+                stop = CascadeTrace.Stop.TIME;
+                dissolveMatches(board, matched, random);
+                break;
+            }
+            int cleared = clearMatches(board, matched);
+            int columns = collapseAndRefill(board, random);
+            trace.record(runs, cleared, columns);
+        }
+        long elapsed = System.nanoTime() - start;
+        trace.finish(stop, elapsed);
+
+        depthSummary.record(trace.getDepth());
+        clearedSummary.record(trace.getTotalCleared());
+        cascadeTimer.record(Duration.ofNanos(elapsed));
+        if (stop == CascadeTrace.Stop.MAX_DEPTH) {
+            stoppedAtMaxDepth.increment();
+        } else if (stop == CascadeTrace.Stop.TIME) {
+            stoppedAtTimeBudget.increment();
+        }
+        return trace;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Clears matched tiles and returns the number cleared.
+     */
+    public static int clearMatches(Tile[][] board, boolean[][] matched) {
+        int cleared = 0;
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                if (matched[i][j]) {
+                    board[i][j] = null;
+                    cleared++;
+                }
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Recolors the matched tiles, in place and unscored, so that no run of three is left on the board.
+     * Each tile gets the first color, from a random start, that does not line it up with its current
+     * neighbors; the neighbors can rule out at most two colors per direction, so one is always left.
+     * A run on the result would have been completed by its last recolored tile or matched already.
+     */
+    static void dissolveMatches(Tile[][] board, boolean[][] matched, Random random) {
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                if (!matched[i][j]) {
+                    continue;
+                }
+                int first = random.nextInt(COLORS.length);
+                for (int k = 0; k < COLORS.length; k++) {
+                    TileColor color = COLORS[(first + k) % COLORS.length];
+                    if (!linesUp(board, i, j, color)) {
+                        board[i][j] = Tile.of(color, board[i][j].getType());
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether a tile of the given color at (row, col) would be part of a run of three.
+     */
+    private static boolean linesUp(Tile[][] board, int row, int col, TileColor color) {
+        return sameColor(board, row, col - 2, color) && sameColor(board, row, col - 1, color)
+                || sameColor(board, row, col - 1, color) && sameColor(board, row, col + 1, color)
+                || sameColor(board, row, col + 1, color) && sameColor(board, row, col + 2, color)
+                || sameColor(board, row - 2, col, color) && sameColor(board, row - 1, col, color)
+                || sameColor(board, row - 1, col, color) && sameColor(board, row + 1, col, color)
+                || sameColor(board, row + 1, col, color) && sameColor(board, row + 2, col, color);
+    }
+
+    private static boolean sameColor(Tile[][] board, int row, int col, TileColor color) {
+        return row >= 0 && row < board.length && col >= 0 && col < board[row].length
+                && board[row][col] != null && board[row][col].getColor() == color;
+    }
+
+    /**
+     * Lets tiles fall into empty cells and fills the top of each column with new tiles.
+     * @return the number of columns that were refilled
+     */
+    public static int collapseAndRefill(Tile[][] board, Random random) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        int refilled = 0;
+        for (int col = 0; col < cols; col++) {
+            // Compact the column in place: non-null tiles keep their order and drop to the bottom
+            int writeRow = rows - 1;
+            for (int row = rows - 1; row >= 0; row--) {
+                if (board[row][col] != null) {
+                    board[writeRow][col] = board[row][col];
+                    writeRow--;
+                }
+            }
+            if (writeRow >= 0) {
+                refilled++;
+            }
+            // Fill remaining cells at the top with new tiles
+            for (; writeRow >= 0; writeRow--) {
+                board[writeRow][col] = Tile.of(COLORS[random.nextInt(COLORS.length)]);
+            }
+        }
+        return refilled;
+    }
+
+    /**
+     * Counts the horizontal and vertical runs among the matched cells. A maximal line of three or
+     * more matched cells of one color is a run; a tile where two runs cross counts for both.
+     */
+    static int countRuns(Tile[][] board, boolean[][] matched) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        int runs = 0;
+        for (int i = 0; i < rows; i++) {
+            int length = 0;
+            for (int j = 0; j <= cols; j++) {
+                if (j < cols && matched[i][j] && length > 0 && board[i][j].getColor() == board[i][j - 1].getColor()) {
+                    length++;
+                } else {
+                    if (length >= 3) runs++;
+                    length = j < cols && matched[i][j] ? 1 : 0;
+                }
+            }
+        }
+        for (int j = 0; j < cols; j++) {
+            int length = 0;
+            for (int i = 0; i <= rows; i++) {
+                if (i < rows && matched[i][j] && length > 0 && board[i][j].getColor() == board[i - 1][j].getColor()) {
+                    length++;
+                } else {
+                    if (length >= 3) runs++;
+                    length = i < rows && matched[i][j] ? 1 : 0;
+                }
+            }
+        }
+        return runs;
+    }
+}
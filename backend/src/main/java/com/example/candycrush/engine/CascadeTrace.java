@@ -0,0 +1,87 @@
+package com.example.candycrush.engine;
+
+/**
+ * Per-step record of one cascade: runs matched, tiles cleared and columns refilled.
+ * Backed by arrays sized to the maximum depth up front, and reused by {@link CascadeExecutor} for
+ * every move on the same thread, so recording a step never allocates. Read it before the thread
+ * runs its next cascade.
+ */
+public final class CascadeTrace {
+
+    public enum Stop {
+        SETTLED,   // No matches left
+        MAX_DEPTH, // Step limit reached, the remaining matches were dissolved unscored
+        TIME       // Time budget used up, the remaining matches were dissolved unscored
+    }
+
+    private final int[] runs;
+    private final int[] tilesCleared;
+    private final int[] columnsRefilled;
+    private int depth;
+    private int totalCleared;
+    private Stop stop = Stop.SETTLED;
+    private long elapsedNanos;
+
+    CascadeTrace(int maxDepth) {
+        this.runs = new int[maxDepth];
+        this.tilesCleared = new int[maxDepth];
+        this.columnsRefilled = new int[maxDepth];
+    }
+
+    void reset() {
+        depth = 0;
+        totalCleared = 0;
+        stop = Stop.SETTLED;
+        elapsedNanos = 0;
+    }
+
+    void record(int stepRuns, int stepCleared, int stepColumns) {
+        runs[depth] = stepRuns;
+        tilesCleared[depth] = stepCleared;
+        columnsRefilled[depth] = stepColumns;
+        totalCleared += stepCleared;
+        depth++;
+    }
+
+    void finish(Stop stop, long elapsedNanos) {
+        this.stop = stop;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /** Number of clear-and-refill steps taken. */
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getTotalCleared() {
+        return totalCleared;
+    }
+
+    public Stop getStop() {
+        return stop;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /** Horizontal and vertical runs of three or more matched in the given step. */
+    public int getRuns(int step) {
+        return runs[checkStep(step)];
+    }
+
+    public int getTilesCleared(int step) {
+        return tilesCleared[checkStep(step)];
+    }
+
+    public int getColumnsRefilled(int step) {
+        return columnsRefilled[checkStep(step)];
+    }
+
+    private int checkStep(int step) {
+        if (step < 0 || step >= depth) {
+            throw new IndexOutOfBoundsException("Step " + step + " of a " + depth + "-step cascade");
+        }
+        return step;
+    }
+}
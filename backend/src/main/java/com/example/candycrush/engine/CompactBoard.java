@@ -0,0 +1,80 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+
+/**
+ * Bit-packed board encoding for cold storage.
+ * Two header bytes hold the row and column counts, followed by one 3-bit code per cell in row-major
+ * order: 0 for an empty cell, color ordinal + 1 otherwise. An 8x8 board takes 26 bytes instead of
+ * the ~2 KB of its JSON form. Only the color is kept, which is all a regular tile has.
+ */
+public final class CompactBoard {
+
+    private static final int BITS = 3;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int HEADER = 2;
+    private static final int MAX_SIDE = 255;
+
+    /** Size of the largest packed board, for sizing storage columns. */
+    public static final int MAX_PACKED_SIZE = HEADER + (MAX_SIDE * MAX_SIDE * BITS + 7) / 8;
+    private static final TileColor[] COLORS = TileColor.values();
+
+    private CompactBoard() {
+    }
+
+    /**
+     * Packs a board.
+     * @param board a rectangular board of at most 255x255 cells
+     * @return the packed bytes
+     */
+    public static byte[] pack(Tile[][] board) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        if (rows > MAX_SIDE || cols > MAX_SIDE) {
+            throw new IllegalArgumentException("Board too large to pack: " + rows + "x" + cols);
+        }
+        byte[] packed = new byte[HEADER + (rows * cols * BITS + 7) / 8];
+        packed[0] = (byte) rows;
+        packed[1] = (byte) cols;
+        int bit = 0;
+        for (Tile[] row : board) {
+            for (Tile tile : row) {
+                int code = tile == null ? 0 : tile.getColor().ordinal() + 1;
+                // A code may straddle two bytes
+                int word = code << (bit & 7);
+                packed[HEADER + (bit >> 3)] |= (byte) word;
+                if ((bit & 7) + BITS > 8) {
+                    packed[HEADER + (bit >> 3) + 1] |= (byte) (word >> 8);
+                }
+                bit += BITS;
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a board written by {@link #pack}.
+     * @param packed the packed bytes
+     * @return the board
+     */
+    public static Tile[][] unpack(byte[] packed) {
+        int rows = packed[0] & 0xFF;
+        int cols = packed[1] & 0xFF;
+        Tile[][] board = new Tile[rows][cols];
+        int bit = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                int index = HEADER + (bit >> 3);
+                int word = packed[index] & 0xFF;
+                if (index + 1 < packed.length) {
+                    word |= (packed[index + 1] & 0xFF) << 8;
+                }
+                int code = (word >> (bit & 7)) & MASK;
+                board[i][j] = code == 0 ? null : Tile.of(COLORS[code - 1]);
+                bit += BITS;
+            }
+        }
+        return board;
+    }
+}
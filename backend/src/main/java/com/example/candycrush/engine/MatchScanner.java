@@ -0,0 +1,17 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+
+/**
+ * Finds the tiles that are part of a horizontal or vertical run of three or more of the same color.
+ * Boards may be any rectangular size; empty (null) cells never match.
+ */
+public interface MatchScanner {
+
+    /**
+     * Scans a board for matches.
+     * @param board a rectangular board
+     * @return a grid of the same shape, true where the tile is part of a match
+     */
+    boolean[][] findMatches(Tile[][] board);
+}
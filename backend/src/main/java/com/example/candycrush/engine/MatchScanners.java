@@ -0,0 +1,39 @@
+package com.example.candycrush.engine;
+
+/**
+ * Picks a {@link MatchScanner} implementation.
+ * The vector scanner needs the incubating jdk.incubator.vector module, which the JVM only resolves
+ * when started with {@code --add-modules jdk.incubator.vector}. Without it the scalar scanner is used.
+ */
+public final class MatchScanners {
+
+    public static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_SCANNER = "com.example.candycrush.engine.VectorMatchScanner";
+
+    private MatchScanners() {
+    }
+
+    /**
+     * Creates a scanner.
+     * @param vector whether to use the vector scanner when the module is available
+     * @return the vector scanner if requested and available, otherwise the scalar one
+     */
+    public static MatchScanner create(boolean vector) {
+        if (vector && vectorAvailable()) {
+            try {
+                // Loaded by name so that this class links without the incubator module
+                return (MatchScanner) Class.forName(VECTOR_SCANNER).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // Module present but unusable on this platform: fall through to the scalar scanner
+            }
+        }
+        return new ScalarMatchScanner();
+    }
+
+    /**
+     * Whether the Vector API module is resolved in this JVM.
+     */
+    public static boolean vectorAvailable() {
+        return ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+
+/**
+ * Run-length scan over rows, then over columns.
+ */
+public class ScalarMatchScanner implements MatchScanner {
+
+    @Override
+    public boolean[][] findMatches(Tile[][] board) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        boolean[][] matched = new boolean[rows][cols];
+        // Horizontal
+        for (int i = 0; i < rows; i++) {
+            int count = 1;
+            for (int j = 1; j < cols; j++) {
+                if (board[i][j] != null && board[i][j-1] != null && board[i][j].getColor() == board[i][j-1].getColor()) {
+                    count++;
+                } else {
+                    if (count >= 3) for (int k = 0; k < count; k++) matched[i][j-1-k] = true;
+                    count = 1;
+                }
+            }
+            if (count >= 3) for (int k = 0; k < count; k++) matched[i][cols-1-k] = true;
+        }
+        // Vertical
+        for (int j = 0; j < cols; j++) {
+            int count = 1;
+            for (int i = 1; i < rows; i++) {
+                if (board[i][j] != null && board[i-1][j] != null && board[i][j].getColor() == board[i-1][j].getColor()) {
+                    count++;
+                } else {
+                    if (count >= 3) for (int k = 0; k < count; k++) matched[i-1-k][j] = true;
+                    count = 1;
+                }
+            }
+            if (count >= 3) for (int k = 0; k < count; k++) matched[rows-1-k][j] = true;
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Match scanner built on the incubating Vector API.
+ * The board is encoded into one flat byte array (color ordinal + 1, 0 for an empty cell) with a zero
+ * separator after every row, so runs never continue across rows and the whole board, however narrow,
+ * is scanned in full-width vectors. A run of three starts at cell p when cells p, p+1, p+2 (horizontal)
+ * or p, p+stride, p+2*stride (vertical) are equal and non-zero; a cell is matched when a run starts
+ * at it or at one of the two cells before it in either direction. The zero padding around the board
+ * keeps every shifted load in bounds, so there is no scalar tail.
+ *
+ * Only load this class through {@link MatchScanners}: it needs the jdk.incubator.vector module.
+ */
+public class VectorMatchScanner implements MatchScanner {
+
+    // Must be a constant for the JIT to compile the lane operations to SIMD instructions
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    @Override
+    public boolean[][] findMatches(Tile[][] board) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        boolean[][] matched = new boolean[rows][cols];
+        if (cols == 0) {
+            return matched;
+        }
+        int stride = cols + 1;
+        int front = 2 * stride; // Room for the loads two rows above the first row
+        int end = front + (rows * stride + LANES - 1) / LANES * LANES;
+        int length = end + 2 * stride + LANES; // Room for the loads two rows below the last vector
+        byte[] cells = new byte[length];
+        for (int i = 0; i < rows; i++) {
+            int offset = front + i * stride;
+            for (int j = 0; j < cols; j++) {
+                Tile tile = board[i][j];
+                cells[offset + j] = tile == null ? 0 : (byte) (tile.getColor().ordinal() + 1);
+            }
+        }
+
+        byte[] horizontal = new byte[length];
+        byte[] vertical = new byte[length];
+        for (int p = front; p < end; p += LANES) {
+            ByteVector cell = ByteVector.fromArray(SPECIES, cells, p);
+            VectorMask<Byte> occupied = cell.compare(VectorOperators.NE, (byte) 0);
+            runStarts(occupied, cell, ByteVector.fromArray(SPECIES, cells, p + 1),
+                    ByteVector.fromArray(SPECIES, cells, p + 2)).intoArray(horizontal, p);
+            runStarts(occupied, cell, ByteVector.fromArray(SPECIES, cells, p + stride),
+                    ByteVector.fromArray(SPECIES, cells, p + 2 * stride)).intoArray(vertical, p);
+        }
+
+        // The cells are no longer needed, so the result overwrites them
+        for (int p = front; p < end; p += LANES) {
+            ByteVector.fromArray(SPECIES, horizontal, p)
+                    .or(ByteVector.fromArray(SPECIES, horizontal, p - 1))
+                    .or(ByteVector.fromArray(SPECIES, horizontal, p - 2))
+                    .or(ByteVector.fromArray(SPECIES, vertical, p))
+                    .or(ByteVector.fromArray(SPECIES, vertical, p - stride))
+                    .or(ByteVector.fromArray(SPECIES, vertical, p - 2 * stride))
+                    .intoArray(cells, p);
+        }
+        for (int i = 0; i < rows; i++) {
+            int offset = front + i * stride;
+            boolean[] row = matched[i];
+            for (int j = 0; j < cols; j++) {
+                row[j] = cells[offset + j] != 0;
+            }
+        }
+        return matched;
+    }
+
+    /**
+     * 1 in the occupied lanes where the three vectors are equal, 0 elsewhere.
+     */
+    private static ByteVector runStarts(VectorMask<Byte> occupied, ByteVector first, ByteVector second,
+                                        ByteVector third) {
+        VectorMask<Byte> run = occupied
+                .and(first.compare(VectorOperators.EQ, second))
+                .and(second.compare(VectorOperators.EQ, third));
+        return ByteVector.zero(SPECIES).blend((byte) 1, run);
+    }
+}
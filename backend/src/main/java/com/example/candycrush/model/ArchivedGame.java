@@ -0,0 +1,142 @@
+package com.example.candycrush.model;
+
+import com.example.candycrush.engine.CompactBoard;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Cold-storage copy of a finished or abandoned game, keyed by the original game ID.
+ * Keeps what the leaderboards and race standings need: score, seed, move count and the final board
+ * bit-packed by {@link CompactBoard}. Moves are not kept, so archived games cannot be replayed.
+ */
+@Entity
+@Table(indexes = {
+        @Index(columnList = "score"),
+        @Index(columnList = "raceId"),
+        @Index(columnList = "challengeDay, score")
+})
+public class ArchivedGame implements Persistable<Long> {
+
+    @Id
+    private Long id; // ID of the original game
+
+    @ManyToOne
+    private Player player;
+
+    private int score;
+
+    @Enumerated(EnumType.STRING)
+    private GameMode mode;
+
+    @Enumerated(EnumType.STRING)
+    private GameStatus status; // FINISHED or ABANDONED
+
+    private Long seed;
+
+    private int moveCount;
+
+    private Long raceId;
+
+    private LocalDate challengeDay;
+
+    @Column(length = CompactBoard.MAX_PACKED_SIZE)
+    private byte[] board; // CompactBoard encoding of the final board
+
+    private Instant lastActivityAt;
+
+    private Instant archivedAt;
+
+    @Transient
+    private boolean isNew = true; // Rows are only ever inserted, so skip the merge lookup on save
+
+    public ArchivedGame() {
+    }
+
+    public ArchivedGame(Game game, byte[] board, Instant archivedAt) {
+        this.id = game.getId();
+        this.player = game.getPlayer();
+        this.score = game.getScore();
+        this.mode = game.getMode();
+        this.status = game.getStatus();
+        this.seed = game.getSeed();
+        this.moveCount = game.getMoveCount();
+        this.raceId = game.getRace() != null ? game.getRace().getId() : null;
+        this.challengeDay = game.getChallengeDay();
+        this.board = board;
+        this.lastActivityAt = game.getLastActivityAt();
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public Long getRaceId() {
+        return raceId;
+    }
+
+    public LocalDate getChallengeDay() {
+        return challengeDay;
+    }
+
+    public byte[] getBoard() {
+        return board;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
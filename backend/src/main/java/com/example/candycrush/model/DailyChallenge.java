@@ -0,0 +1,95 @@
+package com.example.candycrush.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * The puzzle of one day: a starting board generated once from the seed and shared by every daily
+ * game of the day, a move budget, and the best score the solver found for it.
+ */
+@Entity
+public class DailyChallenge implements Persistable<LocalDate> {
+
+    @Id
+    private LocalDate challengeDay; // UTC day
+
+    private long seed; // Seed of the starting board and of the refills of every move
+
+    @Lob
+    private String board; // Starting board as JSON, copied into each daily game
+
+    private int moveBudget;
+
+    private Integer bestScore; // Best score found by the solver, null until solved
+
+    private Instant solvedAt;
+
+    @Transient
+    private boolean isNew = true; // A new challenge is always inserted, so a concurrent creation fails instead of overwriting
+
+    public DailyChallenge() {
+    }
+
+    public DailyChallenge(LocalDate day, long seed, String board, int moveBudget) {
+        this.challengeDay = day;
+        this.seed = seed;
+        this.board = board;
+        this.moveBudget = moveBudget;
+    }
+
+    @Override
+    public LocalDate getId() {
+        return challengeDay;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    public LocalDate getDay() {
+        return challengeDay;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getBoard() {
+        return board;
+    }
+
+    public int getMoveBudget() {
+        return moveBudget;
+    }
+
+    public Integer getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(Integer bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public Instant getSolvedAt() {
+        return solvedAt;
+    }
+
+    public void setSolvedAt(Instant solvedAt) {
+        this.solvedAt = solvedAt;
+    }
+}
@@ -1,13 +1,29 @@
 package com.example.candycrush.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
+
+import java.time.Instant;
+import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(columnList = "score"),
+        @Index(columnList = "status, lastActivityAt"),
+        @Index(columnList = "challengeDay, score")
+},
+        // One daily game per player
+        uniqueConstraints = @UniqueConstraint(columnNames = {"player_id", "challengeDay"}))
 public class Game {
 
     @Id
@@ -22,12 +38,37 @@ public class Game {
 
     private int score;
 
+    @Version
+    private Long version; // Bumped on every save, used as the board ETag
+
+    @Enumerated(EnumType.STRING)
+    private GameMode mode = GameMode.CLASSIC;
+
+    @Enumerated(EnumType.STRING)
+    private GameStatus status = GameStatus.ACTIVE;
+
+    private Long seed; // Seed of the starting board
+
+    private Instant endsAt; // Deadline of timed and race games, null for untimed games
+
+    @ManyToOne
+    private Race race;
+
+    private int moveCount; // Applied moves
+
+    private Instant lastActivityAt; // Creation, last applied move or finish; drives abandonment and archival
+
+    private Integer moveLimit; // Move budget of daily games, null for unlimited games
+
+    private LocalDate challengeDay; // Day of the daily challenge, null for other modes
+
     public Game() {
     }
 
     public Game(Player player) {
         this.player = player;
         this.score = 0;
+        this.lastActivityAt = Instant.now();
     }
 
     public Long getId() {
@@ -61,4 +102,92 @@ public class Game {
     public void setScore(int score) {
         this.score = score;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public GameMode getMode() {
+        return mode;
+    }
+
+    public void setMode(GameMode mode) {
+        this.mode = mode;
+    }
+
+    public GameStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(GameStatus status) {
+        this.status = status;
+    }
+
+    public Long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(Long seed) {
+        this.seed = seed;
+    }
+
+    public Instant getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(Instant endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public Race getRace() {
+        return race;
+    }
+
+    public void setRace(Race race) {
+        this.race = race;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public void setMoveCount(int moveCount) {
+        this.moveCount = moveCount;
+    }
+
+    public Instant getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void setLastActivityAt(Instant lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+
+    public Integer getMoveLimit() {
+        return moveLimit;
+    }
+
+    public void setMoveLimit(Integer moveLimit) {
+        this.moveLimit = moveLimit;
+    }
+
+    public LocalDate getChallengeDay() {
+        return challengeDay;
+    }
+
+    public void setChallengeDay(LocalDate challengeDay) {
+        this.challengeDay = challengeDay;
+    }
+
+    /**
+     * Returns true if moves may still be made at the given time.
+     */
+    public boolean isPlayable(Instant now) {
+        return status == GameStatus.ACTIVE && (endsAt == null || now.isBefore(endsAt))
+                && (moveLimit == null || moveCount < moveLimit);
+    }
 }
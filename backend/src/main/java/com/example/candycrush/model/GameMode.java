@@ -0,0 +1,8 @@
+package com.example.candycrush.model;
+
+public enum GameMode {
+    CLASSIC, // Untimed single-player game
+    TIMED,   // Single-player game that ends after a fixed duration
+    RACE,    // Timed game played against other players on the same seeded board
+    DAILY    // Move-limited game on the shared board of the day, with replayable refills
+}
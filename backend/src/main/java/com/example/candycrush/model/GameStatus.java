@@ -0,0 +1,7 @@
+package com.example.candycrush.model;
+
+public enum GameStatus {
+    ACTIVE,
+    FINISHED,
+    ABANDONED // Classic game left idle; no more moves, archived like a finished one
+}
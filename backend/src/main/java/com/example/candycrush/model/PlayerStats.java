@@ -0,0 +1,89 @@
+package com.example.candycrush.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Per-player aggregate, maintained incrementally so profile pages never scan the game table.
+ */
+@Entity
+public class PlayerStats {
+
+    @Id
+    private Long playerId;
+
+    private long gamesPlayed;
+
+    private long totalScore; // Sum of the scores of all games
+
+    private int bestScore;
+
+    private long tilesCleared;
+
+    private long movesMade;
+
+    private long lastFlushId; // Random ID of the flush that last wrote this row, 0 if none
+
+    public PlayerStats() {
+    }
+
+    public PlayerStats(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public Long getPlayerId() {
+        return playerId;
+    }
+
+    public void setPlayerId(Long playerId) {
+        this.playerId = playerId;
+    }
+
+    public long getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    public void setGamesPlayed(long gamesPlayed) {
+        this.gamesPlayed = gamesPlayed;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    public void setBestScore(int bestScore) {
+        this.bestScore = bestScore;
+    }
+
+    public long getTilesCleared() {
+        return tilesCleared;
+    }
+
+    public void setTilesCleared(long tilesCleared) {
+        this.tilesCleared = tilesCleared;
+    }
+
+    public long getMovesMade() {
+        return movesMade;
+    }
+
+    public void setMovesMade(long movesMade) {
+        this.movesMade = movesMade;
+    }
+
+    public long getLastFlushId() {
+        return lastFlushId;
+    }
+
+    public void setLastFlushId(long lastFlushId) {
+        this.lastFlushId = lastFlushId;
+    }
+}
@@ -1,31 +1,56 @@
 package com.example.candycrush.model;
 
-public class Tile {
-
-    private String color;
-    private String type;
-
-    public Tile() {
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Immutable board cell. There is exactly one instance per (color, type) pair, so boards hold
+ * shared references and copying or refilling a board allocates no tiles.
+ */
+public final class Tile {
+
+    private static final Tile[][] FLYWEIGHTS = new Tile[TileType.values().length][TileColor.values().length];
+
+    static {
+        for (TileType type : TileType.values()) {
+            for (TileColor color : TileColor.values()) {
+                FLYWEIGHTS[type.ordinal()][color.ordinal()] = new Tile(color, type);
+            }
+        }
     }
 
-    public Tile(String color) {
+    private final TileColor color;
+    private final TileType type;
+
+    private Tile(TileColor color, TileType type) {
         this.color = color;
-        this.type = "regular";
+        this.type = type;
     }
 
-    public String getColor() {
-        return color;
+    /**
+     * Returns the shared regular tile of the given color.
+     */
+    public static Tile of(TileColor color) {
+        return of(color, TileType.REGULAR);
     }
 
-    public void setColor(String color) {
-        this.color = color;
+    /**
+     * Returns the shared tile of the given color and type. Also used by Jackson, so parsed
+     * boards resolve to the same instances.
+     */
+    @JsonCreator
+    public static Tile of(@JsonProperty("color") TileColor color, @JsonProperty("type") TileType type) {
+        if (color == null) {
+            throw new IllegalArgumentException("Tile color is required");
+        }
+        return FLYWEIGHTS[type != null ? type.ordinal() : TileType.REGULAR.ordinal()][color.ordinal()];
     }
 
-    public String getType() {
-        return type;
+    public TileColor getColor() {
+        return color;
     }
 
-    public void setType(String type) {
-        this.type = type;
+    public TileType getType() {
+        return type;
     }
 }
@@ -0,0 +1,10 @@
+package com.example.candycrush.model;
+
+public enum TileColor {
+    RED,
+    BLUE,
+    GREEN,
+    YELLOW,
+    PURPLE,
+    ORANGE
+}
@@ -0,0 +1,29 @@
+package com.example.candycrush.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum TileType {
+    REGULAR("regular");
+
+    private final String json;
+
+    TileType(String json) {
+        this.json = json;
+    }
+
+    @JsonValue
+    public String getJson() {
+        return json;
+    }
+
+    @JsonCreator
+    public static TileType fromJson(String json) {
+        for (TileType type : values()) {
+            if (type.json.equals(json)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown tile type: " + json);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.candycrush.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.NumberUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for POST /api/games/{id}/moves.
+ * Requests are matched on the decoded path without path parameters, as Spring MVC routes them, and
+ * an id that does not parse is still admitted against a shared bucket. Requests are checked against a per-game bucket, a per-player bucket and a global
+ * concurrency limit before any controller or repository code runs. Rejected requests
+ * get 429 with a Retry-After header.
+ * The player bucket is keyed on what the server vouches for: the authenticated principal if there is
+ * one, otherwise the client address (behind a proxy, set server.forward-headers-strategy so that it
+ * is the forwarded address). Nothing the client sends can pick its own bucket.
+ */
+@Component
+public class MoveAdmissionFilter extends OncePerRequestFilter {
+
+    private static final String GAMES_PREFIX = "/api/games/";
+    private static final String MOVES_SEGMENT = "/moves";
+    private static final Object UNPARSEABLE_GAME = new Object(); // Shared bucket of ids that are not numbers
+
+    private final TokenBucketLimiter gameLimiter;
+    private final TokenBucketLimiter playerLimiter;
+    private final Semaphore concurrentMoves;
+    private final long idleEvictionNanos;
+    private final Counter rejectedByGame;
+    private final Counter rejectedByPlayer;
+    private final Counter rejectedByConcurrency;
+
+    public MoveAdmissionFilter(@Value("${candycrush.ratelimit.game.per-second:10}") double gamePerSecond,
+                               @Value("${candycrush.ratelimit.game.burst:20}") int gameBurst,
+                               @Value("${candycrush.ratelimit.player.per-second:20}") double playerPerSecond,
+                               @Value("${candycrush.ratelimit.player.burst:40}") int playerBurst,
+                               @Value("${candycrush.ratelimit.idle-eviction-ms:60000}") long idleEvictionMs,
+                               @Value("${candycrush.moves.max-concurrent:64}") int maxConcurrentMoves,
+                               MeterRegistry meterRegistry) {
+        this.gameLimiter = new TokenBucketLimiter(gamePerSecond, gameBurst);
+        this.playerLimiter = new TokenBucketLimiter(playerPerSecond, playerBurst);
+        this.concurrentMoves = new Semaphore(maxConcurrentMoves);
+        this.idleEvictionNanos = TimeUnit.MILLISECONDS.toNanos(idleEvictionMs);
+        this.rejectedByGame = rejectionCounter(meterRegistry, "game");
+        this.rejectedByPlayer = rejectionCounter(meterRegistry, "player");
+        this.rejectedByConcurrency = rejectionCounter(meterRegistry, "concurrency");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("candycrush.moves.rejected")
+                .description("Move requests rejected by admission control")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || gameSegment(lookupPath(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // A request turned away by a later check gives back the tokens it took, so a flood that fails
+        // the player or concurrency limit does not use up the game's budget
+        Object gameKey = gameKey(gameSegment(lookupPath(request)));
+        long waitNanos = gameLimiter.tryAcquire(gameKey);
+        if (waitNanos > 0) {
+            rejectedByGame.increment();
+            reject(response, waitNanos);
+            return;
+        }
+        String playerKey = playerKey(request);
+        waitNanos = playerLimiter.tryAcquire(playerKey);
+        if (waitNanos > 0) {
+            gameLimiter.release(gameKey);
+            rejectedByPlayer.increment();
+            reject(response, waitNanos);
+            return;
+        }
+        if (!concurrentMoves.tryAcquire()) {
+            gameLimiter.release(gameKey);
+            playerLimiter.release(playerKey);
+            rejectedByConcurrency.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        boolean releaseNow = true;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+                releaseNow = false;
+            }
+        } finally {
+            if (releaseNow) {
+                concurrentMoves.release();
+            }
+        }
+    }
+
+    /**
+     * Drops limiter buckets for games and players that have gone quiet.
+     */
+    @Scheduled(fixedDelayString = "${candycrush.ratelimit.idle-eviction-ms:60000}")
+    public void evictIdleBuckets() {
+        gameLimiter.evictIdle(idleEvictionNanos);
+        playerLimiter.evictIdle(idleEvictionNanos);
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(seconds));
+    }
+
+    /**
+     * Bucket key of the caller: the authenticated principal, otherwise the client address.
+     */
+    static String playerKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+
+    /**
+     * The request path as Spring MVC matches it: decoded, without path parameters or duplicate slashes.
+     */
+    private static String lookupPath(HttpServletRequest request) {
+        return UrlPathHelper.defaultInstance.getPathWithinApplication(request);
+    }
+
+    /**
+     * Extracts the game id segment from /api/games/{id}/moves[/...].
+     * @param path the decoded request path
+     * @return the id segment, or null if the path is not a move endpoint
+     */
+    static String gameSegment(String path) {
+        if (path == null || !path.startsWith(GAMES_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', GAMES_PREFIX.length());
+        if (end <= GAMES_PREFIX.length() || !path.startsWith(MOVES_SEGMENT, end)) {
+            return null;
+        }
+        int next = end + MOVES_SEGMENT.length();
+        if (next != path.length() && path.charAt(next) != '/') {
+            return null;
+        }
+        return path.substring(GAMES_PREFIX.length(), end);
+    }
+
+    /**
+     * Bucket key of a game id segment, parsed the way Spring converts the {id} path variable so that
+     * every spelling of one id shares its bucket.
+     */
+    static Object gameKey(String segment) {
+        try {
+            return NumberUtils.parseNumber(segment, Long.class);
+        } catch (IllegalArgumentException e) {
+            return UNPARSEABLE_GAME;
+        }
+    }
+
+    private class ReleaseOnCompletion implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            concurrentMoves.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
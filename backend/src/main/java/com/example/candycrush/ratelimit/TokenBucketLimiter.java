@@ -0,0 +1,88 @@
+package com.example.candycrush.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free keyed token bucket.
+ * Each bucket is a single AtomicLong holding its "theoretical arrival time" (GCRA),
+ * so an admission decision is one read and one CAS with no allocation on the hot path.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final LongSupplier clock;
+    private final Map<Object, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public TokenBucketLimiter(double permitsPerSecond, int burst) {
+        this(permitsPerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketLimiter(double permitsPerSecond, int burst, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.clock = clock;
+    }
+
+    /**
+     * Tries to take one token from the bucket for the given key.
+     * @param key the bucket key
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(Object key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long excess = newTat - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a token taken by {@link #tryAcquire} for a request that was rejected by a later check.
+     * @param key the bucket key
+     */
+    public void release(Object key) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    /**
+     * Removes buckets that have been full for at least the given idle time.
+     * @param idleNanos how long a bucket must have been untouched
+     * @return the number of buckets evicted
+     */
+    public int evictIdle(long idleNanos) {
+        long cutoff = clock.getAsLong() - idleNanos;
+        int evicted = 0;
+        for (Map.Entry<Object, AtomicLong> entry : buckets.entrySet()) {
+            if (entry.getValue().get() < cutoff && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.candycrush.repository;
+
+import com.example.candycrush.model.ArchivedGame;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ArchivedGameRepository extends JpaRepository<ArchivedGame, Long> {
+
+    List<ArchivedGame> findTop10ByPlayerIsNotNullOrderByScoreDesc();
+
+    List<ArchivedGame> findByRaceIdOrderByScoreDesc(Long raceId);
+
+    List<ArchivedGame> findTop10ByChallengeDayOrderByScoreDesc(LocalDate challengeDay);
+
+    boolean existsByPlayerIdAndChallengeDay(Long playerId, LocalDate challengeDay);
+}
@@ -0,0 +1,11 @@
+package com.example.candycrush.repository;
+
+import com.example.candycrush.model.DailyChallenge;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+
+@Repository
+public interface DailyChallengeRepository extends JpaRepository<DailyChallenge, LocalDate> {
+}
@@ -1,9 +1,70 @@
 package com.example.candycrush.repository;
 
 import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
+
+    @Query("select g.version from Game g where g.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    List<Game> findByRaceIdOrderByScoreDesc(Long raceId);
+
+    List<Game> findByModeAndStatus(GameMode mode, GameStatus status);
+
+    List<Game> findTop10ByPlayerIsNotNullOrderByScoreDesc();
+
+    List<Game> findTop10ByChallengeDayOrderByScoreDesc(LocalDate challengeDay);
+
+    Optional<Game> findByPlayerIdAndChallengeDay(Long playerId, LocalDate challengeDay);
+
+    @Query("select g.id from Game g where g.mode in :modes and g.status = com.example.candycrush.model.GameStatus.ACTIVE"
+            + " and g.lastActivityAt < :cutoff order by g.lastActivityAt")
+    List<Long> findIdleIds(@Param("modes") Collection<GameMode> modes, @Param("cutoff") Instant cutoff, Pageable pageable);
+
+    /**
+     * Ends the given games if they are still active and have had no activity since the cutoff.
+     * Bumps the version so cached ETags and in-flight moves see the change.
+     * @return the number of games abandoned
+     */
+    @Modifying
+    @Query("update Game g set g.status = com.example.candycrush.model.GameStatus.ABANDONED, g.version = g.version + 1"
+            + " where g.id in :ids and g.status = com.example.candycrush.model.GameStatus.ACTIVE"
+            + " and g.lastActivityAt < :cutoff")
+    int abandonIdle(@Param("ids") Collection<Long> ids, @Param("cutoff") Instant cutoff);
+
+    @Query("select g.id from Game g where g.mode = com.example.candycrush.model.GameMode.DAILY"
+            + " and g.status = com.example.candycrush.model.GameStatus.ACTIVE and g.challengeDay < :today order by g.id")
+    List<Long> findUnfinishedDailyIds(@Param("today") LocalDate today, Pageable pageable);
+
+    /**
+     * Ends the given daily games if they are still active. Bumps the version like {@link #abandonIdle}.
+     * @return the number of games abandoned
+     */
+    @Modifying
+    @Query("update Game g set g.status = com.example.candycrush.model.GameStatus.ABANDONED, g.version = g.version + 1"
+            + " where g.id in :ids and g.status = com.example.candycrush.model.GameStatus.ACTIVE")
+    int abandonUnfinishedDaily(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Daily games are only archived once their day is over, so the player cannot start that day again.
+     */
+    @Query("select g from Game g where g.status in :statuses and g.lastActivityAt < :cutoff"
+            + " and (g.challengeDay is null or g.challengeDay < :today) order by g.lastActivityAt")
+    List<Game> findArchivable(@Param("statuses") Collection<GameStatus> statuses, @Param("cutoff") Instant cutoff,
+                              @Param("today") LocalDate today, Pageable pageable);
 }
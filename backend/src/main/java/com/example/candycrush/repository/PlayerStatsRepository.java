@@ -0,0 +1,9 @@
+package com.example.candycrush.repository;
+
+import com.example.candycrush.model.PlayerStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PlayerStatsRepository extends JpaRepository<PlayerStats, Long> {
+}
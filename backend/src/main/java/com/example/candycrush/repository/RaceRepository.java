@@ -0,0 +1,14 @@
+package com.example.candycrush.repository;
+
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Race;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RaceRepository extends JpaRepository<Race, Long> {
+
+    List<Race> findByStatus(GameStatus status);
+}
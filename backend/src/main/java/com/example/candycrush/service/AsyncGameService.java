@@ -0,0 +1,117 @@
+package com.example.candycrush.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking move pipeline.
+ * Repository reads and writes run on a bounded I/O pool, the match/cascade work on a bounded
+ * compute pool sized to the number of cores. Both pools reject when their queue is full, and
+ * the whole pipeline is bounded by a timeout, so a stalled database cannot pile up work.
+ */
+@Service
+public class AsyncGameService {
+
+    private final GameService gameService;
+    private final ThreadPoolExecutor computePool;
+    private final ThreadPoolExecutor ioPool;
+    private final long timeoutMs;
+
+    @Autowired
+    public AsyncGameService(GameService gameService,
+                            @Value("${candycrush.async.compute-queue:256}") int computeQueue,
+                            @Value("${candycrush.async.io-threads:16}") int ioThreads,
+                            @Value("${candycrush.async.io-queue:512}") int ioQueue,
+                            @Value("${candycrush.async.timeout-ms:2000}") long timeoutMs) {
+        this.gameService = gameService;
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.computePool = boundedPool("move-compute", cores, computeQueue);
+        this.ioPool = boundedPool("move-io", ioThreads, ioQueue);
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * Makes a move asynchronously.
+     * The future fails with a RejectedExecutionException when a pool is saturated, in which case the
+     * move was not applied, and with a TimeoutException when the move does not finish in time. A move
+     * that times out before its save starts is not saved; one that times out during the save may
+     * still have been applied.
+     * @param gameId the game ID
+     * @param fromRow source row
+     * @param fromCol source column
+     * @param toRow destination row
+     * @param toCol destination column
+     * @param traceCascade whether to include the cascade steps in the result
+     * @return a future of the outcome, with the updated Game
+     */
+    public CompletableFuture<MoveResult> makeMove(Long gameId, int fromRow, int fromCol, int toRow, int toCol,
+                                                  boolean traceCascade) {
+        CompletableFuture<MoveResult> response = new CompletableFuture<>();
+        try {
+            CompletableFuture.supplyAsync(() -> gameService.getGameState(gameId), ioPool)
+                    .thenComposeAsync(game -> {
+                        MoveResult result = gameService.applyMove(game, fromRow, fromCol, toRow, toCol, traceCascade);
+                        return result.isApplied()
+                                ? CompletableFuture.supplyAsync(() -> commitUnlessAnswered(result, response), ioPool)
+                                : CompletableFuture.completedFuture(result);
+                    }, computePool)
+                    .whenComplete((result, error) -> {
+                        if (error != null) {
+                            response.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                                    ? error.getCause() : error);
+                        } else {
+                            response.complete(result);
+                        }
+                    });
+        } catch (RejectedExecutionException e) {
+            response.completeExceptionally(e);
+        }
+        return response.orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves the move, unless the client has already been answered (timed out), so a move reported
+     * as failed is not applied behind the client's back.
+     */
+    private MoveResult commitUnlessAnswered(MoveResult result, CompletableFuture<MoveResult> response) {
+        if (response.isDone()) {
+            throw new CancellationException("Move timed out before it was saved");
+        }
+        return gameService.commitMove(result);
+    }
+
+    /**
+     * Drains the pools in pipeline order, each for at most the move timeout: the compute pool first,
+     * so every applied move has handed its save to the I/O pool before that one stops taking work.
+     */
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        computePool.shutdown();
+        computePool.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+        ioPool.shutdown();
+        ioPool.awaitTermination(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadPoolExecutor boundedPool(String name, int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), factory, new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.model.ArchivedGame;
+import com.example.candycrush.model.DailyChallenge;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.DailyChallengeRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.repository.PlayerRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Daily challenge: one shared board per UTC day, played with a fixed move budget.
+ * Challenges are generated and solved ahead of time by a scheduled job, so the daily rush only
+ * reads: the current challenges are held in memory and a daily game copies the stored board.
+ * Refills are seeded by the challenge seed and the move index, so every player faces the same
+ * sequence for the same moves and the solver's score is reachable. Each player gets one game per day.
+ */
+@Service
+public class DailyChallengeService {
+
+    private final DailyChallengeRepository dailyChallengeRepository;
+    private final GameRepository gameRepository;
+    private final ArchivedGameRepository archivedGameRepository;
+    private final PlayerRepository playerRepository;
+    private final GameService gameService;
+    private final DailyChallengeSolver solver;
+    private final PlayerStatsService playerStatsService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final int moveBudget;
+    private final int daysAhead;
+    private final Map<LocalDate, DailyChallenge> challenges = new ConcurrentHashMap<>();
+
+    @Autowired
+    public DailyChallengeService(DailyChallengeRepository dailyChallengeRepository, GameRepository gameRepository,
+                                 ArchivedGameRepository archivedGameRepository, PlayerRepository playerRepository,
+                                 GameService gameService, DailyChallengeSolver solver,
+                                 PlayerStatsService playerStatsService,
+                                 @Value("${candycrush.daily.move-budget:20}") int moveBudget,
+                                 @Value("${candycrush.daily.days-ahead:1}") int daysAhead) {
+        if (moveBudget < 1) {
+            throw new IllegalArgumentException("Daily move budget must be positive");
+        }
+        this.dailyChallengeRepository = dailyChallengeRepository;
+        this.gameRepository = gameRepository;
+        this.archivedGameRepository = archivedGameRepository;
+        this.playerRepository = playerRepository;
+        this.gameService = gameService;
+        this.solver = solver;
+        this.playerStatsService = playerStatsService;
+        this.moveBudget = moveBudget;
+        this.daysAhead = daysAhead;
+    }
+
+    @Scheduled(fixedDelayString = "${candycrush.daily.prepare-interval-ms:3600000}",
+            initialDelayString = "${candycrush.daily.prepare-initial-delay-ms:300000}")
+    public void run() {
+        prepare(today());
+    }
+
+    /**
+     * Generates and solves the challenges from the given day to the configured number of days ahead,
+     * skipping those already solved, and drops earlier days from memory.
+     * @param today the current day
+     * @return the number of challenges solved
+     */
+    public int prepare(LocalDate today) {
+        challenges.keySet().removeIf(day -> day.isBefore(today));
+        int solved = 0;
+        for (int i = 0; i <= daysAhead; i++) {
+            LocalDate day = today.plusDays(i);
+            DailyChallenge challenge = findOrCreate(day);
+            if (challenge.getBestScore() == null) {
+                DailyChallengeSolver.Solution solution = solver.solve(readBoard(challenge.getBoard()),
+                        challenge.getSeed(), challenge.getMoveBudget());
+                challenge.setBestScore(solution.getScore());
+                challenge.setSolvedAt(Instant.now());
+                challenge = dailyChallengeRepository.save(challenge);
+                solved++;
+            }
+            challenges.put(day, challenge);
+        }
+        return solved;
+    }
+
+    /**
+     * Starts the player's game on today's challenge, or returns it if already started.
+     * @param playerId the player ID
+     * @return the daily Game
+     */
+    public Game startGame(Long playerId) {
+        return startGame(playerId, today());
+    }
+
+    Game startGame(Long playerId, LocalDate day) {
+        // Normally prepared ahead of time; created here, unsolved, only if the job has not run yet
+        DailyChallenge challenge = challenges.computeIfAbsent(day, this::findOrCreate);
+        Optional<Game> existing = gameRepository.findByPlayerIdAndChallengeDay(playerId, day);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        if (archivedGameRepository.existsByPlayerIdAndChallengeDay(playerId, day)) {
+            throw new IllegalArgumentException("Player " + playerId + " already played the challenge of " + day);
+        }
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+        Game game = new Game(player);
+        game.setMode(GameMode.DAILY);
+        game.setSeed(challenge.getSeed());
+        game.setBoard(challenge.getBoard());
+        game.setMoveLimit(challenge.getMoveBudget());
+        game.setChallengeDay(day);
+        try {
+            game = gameRepository.save(game);
+        } catch (DataIntegrityViolationException e) {
+            // The same player started the challenge concurrently
+            return gameRepository.findByPlayerIdAndChallengeDay(playerId, day).orElseThrow(() -> e);
+        }
+        playerStatsService.recordGameCreated(playerId);
+        return game;
+    }
+
+    /**
+     * Retrieves the challenge of a day, from memory when it is current.
+     * @param day the UTC day
+     * @return the DailyChallenge
+     */
+    public DailyChallenge getChallenge(LocalDate day) {
+        DailyChallenge challenge = challenges.get(day);
+        if (challenge != null) {
+            return challenge;
+        }
+        return dailyChallengeRepository.findById(day)
+                .orElseThrow(() -> new IllegalArgumentException("No daily challenge for " + day));
+    }
+
+    /**
+     * Retrieves the ten best live games of a day's challenge, highest score first.
+     * @param day the UTC day
+     * @return the games
+     */
+    public List<Game> getTopGames(LocalDate day) {
+        return gameRepository.findTop10ByChallengeDayOrderByScoreDesc(day);
+    }
+
+    /**
+     * Retrieves the ten best archived games of a day's challenge, highest score first.
+     * @param day the UTC day
+     * @return the archived games
+     */
+    public List<ArchivedGame> getTopArchivedGames(LocalDate day) {
+        return archivedGameRepository.findTop10ByChallengeDayOrderByScoreDesc(day);
+    }
+
+    public static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private DailyChallenge findOrCreate(LocalDate day) {
+        return dailyChallengeRepository.findById(day).orElseGet(() -> {
+            long seed = ThreadLocalRandom.current().nextLong();
+            try {
+                return dailyChallengeRepository.save(
+                        new DailyChallenge(day, seed, gameService.generateSeededBoard(seed), moveBudget));
+            } catch (DataIntegrityViolationException e) {
+                // Created concurrently by another instance
+                return dailyChallengeRepository.findById(day).orElseThrow(() -> e);
+            }
+        });
+    }
+
+    private Tile[][] readBoard(String board) {
+        try {
+            return objectMapper.readValue(board, Tile[][].class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error reading daily challenge board", e);
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.CascadeTrace;
+import com.example.candycrush.engine.CompactBoard;
+import com.example.candycrush.engine.MatchScanner;
+import com.example.candycrush.model.Tile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Offline solver for daily challenges: beam search over the move evaluator of {@link GameService}.
+ * Every level expands each board in the beam by all of its valid moves, replaying the cascade with
+ * the challenge's refill colors for that move, and keeps the highest-scoring boards; a board reached
+ * through several lines is kept once, with its best score. Expansion runs in parallel on a dedicated
+ * pool. Beam search is not exhaustive, so the result is the best score found, a lower bound on the
+ * true optimum, and the line that reaches it.
+ */
+@Service
+public class DailyChallengeSolver {
+
+    private final GameService evaluator;
+    private final int beamWidth;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public DailyChallengeSolver(MatchScanner matchScanner, CascadeExecutor cascadeExecutor,
+                                @Value("${candycrush.daily.solver.beam-width:256}") int beamWidth,
+                                @Value("${candycrush.daily.solver.threads:2}") int threads) {
+        if (beamWidth < 1) {
+            throw new IllegalArgumentException("Beam width must be positive");
+        }
+        // Same scanner and cascade depth as the games, but the solver's cascades stay out of the gameplay metrics
+        this.evaluator = new GameService(null, null, null, matchScanner,
+                new CascadeExecutor(matchScanner, cascadeExecutor.getMaxDepth(), Duration.ZERO, new SimpleMeterRegistry()),
+                null);
+        this.beamWidth = beamWidth;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Finds the best score reachable from a board within the move budget.
+     * @param board the starting board, not modified
+     * @param seed the challenge seed, which drives the refills
+     * @param moveBudget the number of moves allowed
+     * @return the best score found and its moves
+     */
+    public Solution solve(Tile[][] board, long seed, int moveBudget) {
+        State best = new State(copy(board), 0, null, null);
+        List<State> beam = List.of(best);
+        for (int moveIndex = 0; moveIndex < moveBudget && !beam.isEmpty(); moveIndex++) {
+            List<State> current = beam;
+            int index = moveIndex;
+            List<State> children = pool.submit(() -> current.parallelStream()
+                    .flatMap(state -> expand(state, seed, index).stream())
+                    .collect(Collectors.toList())).join();
+            beam = select(children);
+            if (!beam.isEmpty() && beam.get(0).score > best.score) {
+                best = beam.get(0);
+            }
+        }
+        return new Solution(best.score, best.moves());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Plays every valid move on a board, in the order of {@link GameService#findValidMoves}.
+     */
+    private List<State> expand(State state, long seed, int moveIndex) {
+        List<State> children = new ArrayList<>();
+        int rows = state.board.length;
+        int cols = state.board[0].length;
+        Tile[][] board = copy(state.board);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (j + 1 < cols) {
+                    board = play(state, board, new MoveRequest(i, j, i, j + 1), seed, moveIndex, children);
+                }
+                if (i + 1 < rows) {
+                    board = play(state, board, new MoveRequest(i, j, i + 1, j), seed, moveIndex, children);
+                }
+            }
+        }
+        return children;
+    }
+
+    /**
+     * Plays one move on a scratch copy of the state's board.
+     * @return the scratch board for the next move: the same one if the move was invalid, a fresh copy otherwise
+     */
+    private Tile[][] play(State state, Tile[][] board, MoveRequest move, long seed, int moveIndex, List<State> children) {
+        CascadeTrace trace = evaluator.playMove(board, move.getFromRow(), move.getFromCol(), move.getToRow(),
+                move.getToCol(), GameService.replayRandom(seed, moveIndex), true);
+        if (trace == null) {
+            return board; // Invalid moves leave the board untouched
+        }
+        children.add(new State(board, state.score + GameService.scoreFor(trace), state, move));
+        return copy(state.board);
+    }
+
+    /**
+     * Keeps the best-scoring distinct boards, at most the beam width. Ties keep expansion order.
+     */
+    private List<State> select(List<State> children) {
+        Map<ByteBuffer, State> distinct = new LinkedHashMap<>();
+        for (State child : children) {
+            distinct.merge(ByteBuffer.wrap(CompactBoard.pack(child.board)), child,
+                    (kept, other) -> other.score > kept.score ? other : kept);
+        }
+        return distinct.values().stream()
+                .sorted(Comparator.comparingInt((State state) -> state.score).reversed())
+                .limit(beamWidth)
+                .collect(Collectors.toList());
+    }
+
+    private static Tile[][] copy(Tile[][] board) {
+        Tile[][] copy = new Tile[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+
+    /**
+     * A board in the search, linked to the state it was reached from.
+     */
+    private static final class State {
+        final Tile[][] board;
+        final int score;
+        final State parent;
+        final MoveRequest move;
+
+        State(Tile[][] board, int score, State parent, MoveRequest move) {
+            this.board = board;
+            this.score = score;
+            this.parent = parent;
+            this.move = move;
+        }
+
+        List<MoveRequest> moves() {
+            List<MoveRequest> moves = new ArrayList<>();
+            for (State state = this; state.parent != null; state = state.parent) {
+                moves.add(state.move);
+            }
+            Collections.reverse(moves);
+            return moves;
+        }
+    }
+
+    /**
+     * Best score found for a challenge and the moves that reach it.
+     */
+    public static final class Solution {
+        private final int score;
+        private final List<MoveRequest> moves;
+
+        Solution(int score, List<MoveRequest> moves) {
+            this.score = score;
+            this.moves = moves;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public List<MoveRequest> getMoves() {
+            return moves;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.engine.CompactBoard;
+import com.example.candycrush.model.ArchivedGame;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the hot game table bounded.
+ * Classic games idle for longer than the abandon age are marked ABANDONED, as are daily games still
+ * active once their day is over; a daily game is never abandoned during its day, since the player
+ * cannot start that day's challenge again. Finished and abandoned games idle for longer than the
+ * archive age are copied to the archive table in compact form and deleted from the game table, daily
+ * games only once their day is over. Both steps run one batch per transaction and drop the cached state
+ * of every game they touch once the batch has committed. Timed and race games are finished by the
+ * tick engine, so they only go through the second step.
+ */
+@Service
+public class GameArchiver {
+
+    private static final Set<GameStatus> ARCHIVABLE = EnumSet.of(GameStatus.FINISHED, GameStatus.ABANDONED);
+    private static final Set<GameMode> ABANDONABLE = EnumSet.of(GameMode.CLASSIC);
+
+    private final GameRepository gameRepository;
+    private final ArchivedGameRepository archivedGameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GameStateCache gameStateCache;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Duration abandonAfter;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final Counter abandoned;
+    private final Counter archived;
+
+    @Autowired
+    public GameArchiver(GameRepository gameRepository, ArchivedGameRepository archivedGameRepository,
+                        TransactionTemplate transactionTemplate, GameStateCache gameStateCache,
+                        MeterRegistry meterRegistry,
+                        @Value("${candycrush.archive.abandon-after-seconds:1800}") long abandonAfterSeconds,
+                        @Value("${candycrush.archive.archive-after-seconds:3600}") long archiveAfterSeconds,
+                        @Value("${candycrush.archive.batch-size:500}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.archivedGameRepository = archivedGameRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.gameStateCache = gameStateCache;
+        this.abandonAfter = Duration.ofSeconds(abandonAfterSeconds);
+        this.archiveAfter = Duration.ofSeconds(archiveAfterSeconds);
+        this.batchSize = batchSize;
+        this.abandoned = Counter.builder("candycrush.games.abandoned")
+                .description("Classic games ended for inactivity and daily games left unfinished")
+                .register(meterRegistry);
+        this.archived = Counter.builder("candycrush.games.archived")
+                .description("Games moved from the game table to the archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${candycrush.archive.interval-ms:60000}",
+            initialDelayString = "${candycrush.archive.interval-ms:60000}")
+    public void run() {
+        Instant now = Instant.now();
+        abandonIdle(now);
+        archiveIdle(now);
+    }
+
+    /**
+     * Marks classic games without activity for the abandon age, and daily games of earlier days that
+     * are still active, as ABANDONED.
+     * @param now the current time
+     * @return the number of games abandoned
+     */
+    public int abandonIdle(Instant now) {
+        Instant cutoff = now.minus(abandonAfter);
+        int total = 0;
+        List<Long> ids;
+        do {
+            // The update re-checks status and activity, so a game moved since the select is left alone
+            ids = gameRepository.findIdleIds(ABANDONABLE, cutoff, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            total += transactionTemplate.execute(status -> gameRepository.abandonIdle(batch, cutoff));
+            gameStateCache.invalidateAll(ids);
+        } while (ids.size() == batchSize);
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        do {
+            ids = gameRepository.findUnfinishedDailyIds(today, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            List<Long> batch = ids;
+            total += transactionTemplate.execute(status -> gameRepository.abandonUnfinishedDaily(batch));
+            gameStateCache.invalidateAll(ids);
+        } while (ids.size() == batchSize);
+        abandoned.increment(total);
+        return total;
+    }
+
+    /**
+     * Moves finished and abandoned games without activity for the archive age to the archive.
+     * @param now the current time
+     * @return the number of games archived
+     */
+    public int archiveIdle(Instant now) {
+        Instant cutoff = now.minus(archiveAfter);
+        int total = 0;
+        int moved;
+        do {
+            List<Long> ids = transactionTemplate.execute(status -> archiveBatch(cutoff, now));
+            gameStateCache.invalidateAll(ids);
+            moved = ids.size();
+            total += moved;
+        } while (moved == batchSize);
+        archived.increment(total);
+        return total;
+    }
+
+    /**
+     * @return the IDs of the games archived
+     */
+    private List<Long> archiveBatch(Instant cutoff, Instant now) {
+        List<Game> games = gameRepository.findArchivable(ARCHIVABLE, cutoff, LocalDate.ofInstant(now, ZoneOffset.UTC),
+                PageRequest.of(0, batchSize));
+        if (games.isEmpty()) {
+            return List.of();
+        }
+        List<ArchivedGame> copies = new ArrayList<>(games.size());
+        List<Long> ids = new ArrayList<>(games.size());
+        for (Game game : games) {
+            copies.add(new ArchivedGame(game, CompactBoard.pack(readBoard(game)), now));
+            ids.add(game.getId());
+        }
+        archivedGameRepository.saveAll(copies);
+        gameRepository.deleteAllByIdInBatch(ids);
+        return ids;
+    }
+
+    private Tile[][] readBoard(Game game) {
+        try {
+            return objectMapper.readValue(game.getBoard(), Tile[][].class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error reading board of game " + game.getId(), e);
+        }
+    }
+}
@@ -1,32 +1,58 @@
 package com.example.candycrush.service;
 
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.dto.CascadeTraceResponse;
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.CascadeTrace;
+import com.example.candycrush.engine.MatchScanner;
+import com.example.candycrush.engine.ScalarMatchScanner;
 import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
 import com.example.candycrush.model.Player;
 import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
 import com.example.candycrush.repository.GameRepository;
 import com.example.candycrush.repository.PlayerRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class GameService {
 
     private static final int BOARD_SIZE = 8;
-    private static final String[] COLORS = {"RED", "BLUE", "GREEN", "YELLOW", "PURPLE", "ORANGE"};
+    private static final TileColor[] COLORS = TileColor.values();
 
     private final GameRepository gameRepository;
     private final PlayerRepository playerRepository;
+    private final PlayerStatsService playerStatsService;
+    private final MatchScanner matchScanner;
+    private final CascadeExecutor cascadeExecutor;
+    private final GameStateCache gameStateCache;
     private final ObjectMapper objectMapper;
 
     @Autowired
-    public GameService(GameRepository gameRepository, PlayerRepository playerRepository) {
+    public GameService(GameRepository gameRepository, PlayerRepository playerRepository,
+                       PlayerStatsService playerStatsService, MatchScanner matchScanner,
+                       CascadeExecutor cascadeExecutor, GameStateCache gameStateCache) {
         this.gameRepository = gameRepository;
         this.playerRepository = playerRepository;
+        this.playerStatsService = playerStatsService;
+        this.matchScanner = matchScanner;
+        this.cascadeExecutor = cascadeExecutor;
+        this.gameStateCache = gameStateCache;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -36,6 +62,11 @@ public class GameService {
     public GameService() {
         this.gameRepository = null;
         this.playerRepository = null;
+        this.playerStatsService = null;
+        this.matchScanner = new ScalarMatchScanner();
+        this.cascadeExecutor = new CascadeExecutor(matchScanner, CascadeExecutor.DEFAULT_MAX_DEPTH,
+                Duration.ofMillis(CascadeExecutor.DEFAULT_TIME_BUDGET_MS), new SimpleMeterRegistry());
+        this.gameStateCache = null;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -48,14 +79,29 @@ public class GameService {
         Player player = playerRepository.findById(playerId)
                 .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
         Game game = new Game(player);
-        Tile[][] board = generateNewBoard();
+        long seed = ThreadLocalRandom.current().nextLong();
+        game.setSeed(seed);
+        game.setBoard(generateSeededBoard(seed));
+        game = gameRepository.save(game);
+        playerStatsService.recordGameCreated(playerId);
+        return game;
+    }
+
+    /**
+     * Generates the JSON of a new board from a seed, so several games can share the same start.
+     * @param seed the board seed
+     * @return the board JSON
+     */
+    public String generateSeededBoard(long seed) {
+        return writeBoard(generateNewBoard(new Random(seed)));
+    }
+
+    private String writeBoard(Tile[][] board) {
         try {
-            String boardJson = objectMapper.writeValueAsString(board);
-            game.setBoard(boardJson);
+            return objectMapper.writeValueAsString(board);
         } catch (JsonProcessingException e) {
             throw new RuntimeException("Error processing board state", e);
         }
-        return gameRepository.save(game);
     }
 
     /**
@@ -68,6 +114,24 @@ public class GameService {
                 .orElseThrow(() -> new IllegalArgumentException("Game not found with id: " + gameId));
     }
 
+    /**
+     * Looks up the given game, which may have been archived or never existed.
+     * @param gameId the game ID
+     * @return the Game, or empty if it is not in the games table
+     */
+    public Optional<Game> findGame(Long gameId) {
+        return gameRepository.findById(gameId);
+    }
+
+    /**
+     * Looks up only the version of the given game, without loading its board.
+     * @param gameId the game ID
+     * @return the current version, or empty if the game is not in the games table
+     */
+    public Optional<Long> findGameVersion(Long gameId) {
+        return gameRepository.findVersionById(gameId);
+    }
+
     /**
      * Makes a move on the board for the given game ID and coordinates.
      * @param gameId the game ID
@@ -78,42 +142,122 @@ public class GameService {
      * @return updated Game
      */
     public Game makeMove(Long gameId, int fromRow, int fromCol, int toRow, int toCol) {
+        return makeMove(gameId, fromRow, fromCol, toRow, toCol, false).getGame();
+    }
+
+    /**
+     * Makes a move on the board for the given game ID and coordinates.
+     * @param gameId the game ID
+     * @param fromRow source row
+     * @param fromCol source column
+     * @param toRow destination row
+     * @param toCol destination column
+     * @param traceCascade whether to include the cascade steps in the result
+     * @return the outcome, with the updated Game
+     */
+    public MoveResult makeMove(Long gameId, int fromRow, int fromCol, int toRow, int toCol, boolean traceCascade) {
         Game game = getGameState(gameId);
+        MoveResult result = applyMove(game, fromRow, fromCol, toRow, toCol, traceCascade);
+        if (!result.isApplied()) {
+            return result; // Do not mutate or save, return current state
+        }
+        return commitMove(result);
+    }
+
+    /**
+     * Applies a move to an already loaded game: validates, swaps and resolves cascades.
+     * Pure CPU work, the repository is not touched.
+     * @param game the game to update in place
+     * @param fromRow source row
+     * @param fromCol source column
+     * @param toRow destination row
+     * @param toCol destination column
+     * @param traceCascade whether to copy the cascade steps into the result
+     * @return the outcome; not applied if the move was invalid or the game is no longer playable
+     */
+    public MoveResult applyMove(Game game, int fromRow, int fromCol, int toRow, int toCol, boolean traceCascade) {
+        Instant now = Instant.now();
+        if (!game.isPlayable(now)) {
+            return MoveResult.rejected(game); // Finished or out of time
+        }
         try {
             Tile[][] board = objectMapper.readValue(game.getBoard(), Tile[][].class);
-            if (!isValidMove(board, fromRow, fromCol, toRow, toCol)) {
+            // Daily games replay exactly: the refills only depend on the challenge seed and the move index
+            boolean replayable = game.getMode() == GameMode.DAILY;
+            Random random = replayable ? replayRandom(game.getSeed(), game.getMoveCount()) : ThreadLocalRandom.current();
+            CascadeTrace trace = playMove(board, fromRow, fromCol, toRow, toCol, random, replayable);
+            if (trace == null) {
                 // removed logging "[makeMove] Invalid move attempted, board remains unchanged.");
-                return game; // Do not mutate or save, return current state
+                return MoveResult.rejected(game);
             }
-            // Swap tiles
-            // removed logging "[makeMove] Swapping tiles: (" + fromRow + "," + fromCol + ") <-> (" + toRow + "," + toCol + ")");
-            swap(board, fromRow, fromCol, toRow, toCol);
-            // removed logging board);
-
-            int totalScore = game.getScore();
-            boolean foundMatch;
-            do {
-                boolean[][] matched = findMatches(board);
-                foundMatch = hasAnyMatch(matched);
-                if (foundMatch) {
-                    int cleared = clearMatches(board, matched);
-                    // removed logging "[makeMove] Cleared " + cleared + " tiles:");
-                    // removed logging board);
-                    totalScore += cleared * 10; // 10 points per cleared tile
-                    cascadeTiles(board);
-                    // removed logging "[makeMove] After cascade:");
-                    // removed logging board);
-                }
-            } while (foundMatch);
-
-            game.setScore(totalScore);
+            int scoreGained = scoreFor(trace);
+            game.setScore(game.getScore() + scoreGained);
             game.setBoard(objectMapper.writeValueAsString(board));
-            return gameRepository.save(game);
+            game.setMoveCount(game.getMoveCount() + 1);
+            game.setLastActivityAt(now);
+            if (game.getMoveLimit() != null && game.getMoveCount() >= game.getMoveLimit()) {
+                game.setStatus(GameStatus.FINISHED); // Move budget used up
+            }
+            return MoveResult.applied(game, trace.getTotalCleared(), scoreGained,
+                    traceCascade ? CascadeTraceResponse.of(trace) : null);
         } catch (Exception e) {
             throw new RuntimeException("Error processing move", e);
         }
     }
 
+    /**
+     * Plays a move on a board in place: validates, swaps and resolves the cascade.
+     * This is the move evaluator shared by games and the daily challenge solver.
+     * @param board the board, updated in place if the move is valid
+     * @param fromRow source row
+     * @param fromCol source column
+     * @param toRow destination row
+     * @param toCol destination column
+     * @param random source of the refill colors
+     * @param replayable whether the cascade must not depend on timing
+     * @return this thread's cascade trace, or null if the move is invalid and the board untouched
+     */
+    CascadeTrace playMove(Tile[][] board, int fromRow, int fromCol, int toRow, int toCol, Random random,
+                          boolean replayable) {
+        if (!isValidMove(board, fromRow, fromCol, toRow, toCol)) {
+            return null;
+        }
+        // removed logging "[makeMove] Swapping tiles: (" + fromRow + "," + fromCol + ") <-> (" + toRow + "," + toCol + ")");
+        swap(board, fromRow, fromCol, toRow, toCol);
+        return cascadeExecutor.run(board, random, replayable);
+    }
+
+    /**
+     * Points scored by a move.
+     */
+    static int scoreFor(CascadeTrace trace) {
+        return trace.getTotalCleared() * 10; // 10 points per cleared tile
+    }
+
+    /**
+     * Refill colors of one move of a replayable game.
+     * @param seed the game seed
+     * @param moveIndex number of moves played before this one
+     * @return a generator that yields the same colors for the same seed and move
+     */
+    static Random replayRandom(long seed, int moveIndex) {
+        return new Random(seed ^ (0x9E3779B97F4A7C15L * (moveIndex + 1)));
+    }
+
+    /**
+     * Persists a game after an applied move, drops its cached state and records the move in the
+     * player's statistics.
+     * @param result the outcome of the move
+     * @return the outcome, with the saved Game
+     */
+    public MoveResult commitMove(MoveResult result) {
+        Game saved = gameRepository.save(result.getGame());
+        gameStateCache.invalidate(saved.getId());
+        playerStatsService.recordMove(saved.getPlayer().getId(), result.getScoreGained(),
+                result.getTilesCleared(), saved.getScore());
+        return result.withGame(saved);
+    }
+
     /**
      * Checks if a move is valid (adjacent and results in a match).
      */
@@ -148,6 +292,26 @@ public class GameService {
 
 
 
+    /**
+     * Lists every valid move on the board, each swap with the right and lower neighbour once.
+     * @param board the board
+     * @return the valid moves
+     */
+    public List<MoveRequest> findValidMoves(Tile[][] board) {
+        List<MoveRequest> moves = new ArrayList<>();
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            for (int j = 0; j < BOARD_SIZE; j++) {
+                if (j + 1 < BOARD_SIZE && isValidMove(board, i, j, i, j + 1)) {
+                    moves.add(new MoveRequest(i, j, i, j + 1));
+                }
+                if (i + 1 < BOARD_SIZE && isValidMove(board, i, j, i + 1, j)) {
+                    moves.add(new MoveRequest(i, j, i + 1, j));
+                }
+            }
+        }
+        return moves;
+    }
+
     /**
      * Swaps two tiles on the board.
      */
@@ -162,34 +326,7 @@ public class GameService {
      * Finds all matches (3 or more in a row/column) on the board.
      */
     boolean[][] findMatches(Tile[][] board) {
-        boolean[][] matched = new boolean[BOARD_SIZE][BOARD_SIZE];
-        // Horizontal
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            int count = 1;
-            for (int j = 1; j < BOARD_SIZE; j++) {
-                if (board[i][j] != null && board[i][j-1] != null && board[i][j].getColor().equals(board[i][j-1].getColor())) {
-                    count++;
-                } else {
-                    if (count >= 3) for (int k = 0; k < count; k++) matched[i][j-1-k] = true;
-                    count = 1;
-                }
-            }
-            if (count >= 3) for (int k = 0; k < count; k++) matched[i][BOARD_SIZE-1-k] = true;
-        }
-        // Vertical
-        for (int j = 0; j < BOARD_SIZE; j++) {
-            int count = 1;
-            for (int i = 1; i < BOARD_SIZE; i++) {
-                if (board[i][j] != null && board[i-1][j] != null && board[i][j].getColor().equals(board[i-1][j].getColor())) {
-                    count++;
-                } else {
-                    if (count >= 3) for (int k = 0; k < count; k++) matched[i-1-k][j] = true;
-                    count = 1;
-                }
-            }
-            if (count >= 3) for (int k = 0; k < count; k++) matched[BOARD_SIZE-1-k][j] = true;
-        }
-        return matched;
+        return matchScanner.findMatches(board);
     }
 
     /**
@@ -206,78 +343,23 @@ public class GameService {
      * Clears matched tiles and returns the number cleared.
      */
     int clearMatches(Tile[][] board, boolean[][] matched) {
-        int cleared = 0;
-        for (int i = 0; i < BOARD_SIZE; i++) {
-            for (int j = 0; j < BOARD_SIZE; j++) {
-                if (matched[i][j]) {
-                    // removed logging "[clearMatches] Clearing tile at (" + i + "," + j + ")");
-                    board[i][j] = null;
-                    cleared++;
-                }
-            }
-        }
-        return cleared;
+        return CascadeExecutor.clearMatches(board, matched);
     }
 
     /**
      * Cascades tiles down to fill empty spaces and fills from the top.
      */
     void cascadeTiles(Tile[][] board) {
-        Random random = new Random();
-        for (int col = 0; col < BOARD_SIZE; col++) {
-            // Debug: Print column before cascading
-            StringBuilder before = new StringBuilder();
-            for (int row = 0; row < BOARD_SIZE; row++) {
-                before.append(board[row][col] == null ? "." : board[row][col].getColor().charAt(0)).append(" ");
-            }
-            // removed logging "[cascadeTiles] Col " + col + " BEFORE: " + before.toString());
-
-            // Step 1: Collect all non-null tiles in this column (from bottom to top)
-            java.util.List<Tile> nonNullTiles = new java.util.ArrayList<>();
-            for (int row = BOARD_SIZE - 1; row >= 0; row--) {
-                if (board[row][col] != null) {
-                    nonNullTiles.add(board[row][col]);
-                }
-            }
-            // Step 2: Place non-null tiles at the bottom of the column
-            int writeRow = BOARD_SIZE - 1;
-            for (Tile tile : nonNullTiles) {
-                board[writeRow][col] = tile;
-                writeRow--;
-            }
-            // Step 3: Fill remaining cells at the top with new tiles
-            for (; writeRow >= 0; writeRow--) {
-                board[writeRow][col] = new Tile(COLORS[random.nextInt(COLORS.length)]);
-                // removed logging "[cascadeTiles] New tile at (" + writeRow + "," + col + ") color: " + board[writeRow][col].getColor());
-            }
-
-            // Debug: Print column after cascading
-            StringBuilder after = new StringBuilder();
-            for (int r = 0; r < BOARD_SIZE; r++) {
-                after.append(board[r][col] == null ? "." : board[r][col].getColor().charAt(0)).append(" ");
-            }
-            // removed logging "[cascadeTiles] Col " + col + " AFTER:  " + after.toString());
-        }
+        CascadeExecutor.collapseAndRefill(board, new Random());
     }
 
     /**
-     * Deep copies a board.
+     * Copies a board. Tiles are immutable flyweights, so copying the rows is enough.
      */
     private Tile[][] deepCopyBoard(Tile[][] board) {
-        int n = board.length;
-        int m = board[0].length;
-        Tile[][] copy = new Tile[n][m];
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < m; j++) {
-                Tile t = board[i][j];
-                if (t != null) {
-                    Tile newTile = new Tile(t.getColor());
-                    newTile.setType(t.getType());
-                    copy[i][j] = newTile;
-                } else {
-                    copy[i][j] = null;
-                }
-            }
+        Tile[][] copy = new Tile[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
         }
         return copy;
     }
@@ -285,24 +367,34 @@ public class GameService {
     /**
      * Generates a new board with no initial matches.
      */
-    private Tile[][] generateNewBoard() {
+    private Tile[][] generateNewBoard(Random random) {
         Tile[][] board = new Tile[BOARD_SIZE][BOARD_SIZE];
-        Random random = new Random();
         for (int i = 0; i < BOARD_SIZE; i++) {
             for (int j = 0; j < BOARD_SIZE; j++) {
-                java.util.List<String> possibleColors = new java.util.ArrayList<>(java.util.Arrays.asList(COLORS));
-                // Remove color if it would create a horizontal match
+                TileColor excludedH = null;
+                TileColor excludedV = null;
+                // Exclude color if it would create a horizontal match
                 if (j >= 2 && board[i][j-1] != null && board[i][j-2] != null &&
-                        board[i][j-1].getColor().equals(board[i][j-2].getColor())) {
-                    possibleColors.remove(board[i][j-1].getColor());
+                        board[i][j-1].getColor() == board[i][j-2].getColor()) {
+                    excludedH = board[i][j-1].getColor();
                 }
-                // Remove color if it would create a vertical match
+                // Exclude color if it would create a vertical match
                 if (i >= 2 && board[i-1][j] != null && board[i-2][j] != null &&
-                        board[i-1][j].getColor().equals(board[i-2][j].getColor())) {
-                    possibleColors.remove(board[i-1][j].getColor());
+                        board[i-1][j].getColor() == board[i-2][j].getColor()) {
+                    excludedV = board[i-1][j].getColor();
+                }
+                int possible = COLORS.length - (excludedH != null ? 1 : 0)
+                        - (excludedV != null && excludedV != excludedH ? 1 : 0);
+                // Pick the n-th remaining color, in COLORS order
+                int n = random.nextInt(possible);
+                TileColor color = null;
+                for (TileColor candidate : COLORS) {
+                    if (candidate != excludedH && candidate != excludedV && n-- == 0) {
+                        color = candidate;
+                        break;
+                    }
                 }
-                String color = possibleColors.get(random.nextInt(possibleColors.size()));
-                board[i][j] = new Tile(color);
+                board[i][j] = Tile.of(color);
             }
         }
         // Optional: Debug check for accidental matches
@@ -0,0 +1,68 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.dto.CascadeTraceResponse;
+import com.example.candycrush.model.Game;
+
+/**
+ * Outcome of applying one move to a game.
+ */
+public class MoveResult {
+
+    private final Game game;
+    private final boolean applied;
+    private final int tilesCleared;
+    private final int scoreGained;
+    private final CascadeTraceResponse cascade;
+
+    private MoveResult(Game game, boolean applied, int tilesCleared, int scoreGained, CascadeTraceResponse cascade) {
+        this.game = game;
+        this.applied = applied;
+        this.tilesCleared = tilesCleared;
+        this.scoreGained = scoreGained;
+        this.cascade = cascade;
+    }
+
+    static MoveResult rejected(Game game) {
+        return new MoveResult(game, false, 0, 0, null);
+    }
+
+    static MoveResult applied(Game game, int tilesCleared, int scoreGained, CascadeTraceResponse cascade) {
+        return new MoveResult(game, true, tilesCleared, scoreGained, cascade);
+    }
+
+    /**
+     * The same outcome for the saved copy of the game.
+     */
+    MoveResult withGame(Game saved) {
+        return new MoveResult(saved, applied, tilesCleared, scoreGained, cascade);
+    }
+
+    /**
+     * The game after the move; unchanged if the move was not applied.
+     */
+    public Game getGame() {
+        return game;
+    }
+
+    /**
+     * Returns true if the move was valid and the game was changed.
+     */
+    public boolean isApplied() {
+        return applied;
+    }
+
+    public int getTilesCleared() {
+        return tilesCleared;
+    }
+
+    public int getScoreGained() {
+        return scoreGained;
+    }
+
+    /**
+     * The cascade steps, if they were asked for; otherwise null.
+     */
+    public CascadeTraceResponse getCascade() {
+        return cascade;
+    }
+}
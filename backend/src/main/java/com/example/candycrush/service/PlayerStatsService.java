@@ -0,0 +1,237 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.dto.PlayerStatsResponse;
+import com.example.candycrush.model.PlayerStats;
+import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.repository.PlayerStatsRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Incrementally maintained per-player statistics.
+ * Game creation and moves only bump an in-memory accumulator for the player; the accumulators are
+ * folded into the PlayerStats table periodically. Updates go through ConcurrentHashMap.compute, so
+ * the map's bins act as lock stripes and a flush atomically takes over a player's pending deltas
+ * without losing concurrent updates. Reads merge the stored row with the batch being written, unless
+ * the row already carries that batch's flush ID, and with whatever is still pending, so a delta is
+ * counted exactly once without reads ever waiting for a flush's write.
+ */
+@Service
+public class PlayerStatsService {
+
+    private final PlayerStatsRepository playerStatsRepository;
+    private final PlayerRepository playerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    // Guards the hand-over of deltas between pending and the batch in flight; held only in memory, and
+    // not taken by updates
+    private final ReadWriteLock handOverLock = new ReentrantReadWriteLock();
+    private Batch inFlight; // Batch being written, guarded by handOverLock
+    private long batchesTaken; // Guarded by handOverLock
+
+    @Autowired
+    public PlayerStatsService(PlayerStatsRepository playerStatsRepository, PlayerRepository playerRepository,
+                              TransactionTemplate transactionTemplate) {
+        this.playerStatsRepository = playerStatsRepository;
+        this.playerRepository = playerRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Records that a player started a game.
+     * @param playerId the player ID
+     */
+    public void recordGameCreated(Long playerId) {
+        pending.compute(playerId, (id, p) -> {
+            Pending stats = p != null ? p : new Pending();
+            stats.gamesPlayed++;
+            return stats;
+        });
+    }
+
+    /**
+     * Records an applied move.
+     * @param playerId the player ID
+     * @param scoreGained points scored by the move
+     * @param tilesCleared tiles cleared by the move, cascades included
+     * @param gameScore the game's score after the move
+     */
+    public void recordMove(Long playerId, int scoreGained, int tilesCleared, int gameScore) {
+        pending.compute(playerId, (id, p) -> {
+            Pending stats = p != null ? p : new Pending();
+            stats.totalScore += scoreGained;
+            stats.tilesCleared += tilesCleared;
+            stats.movesMade++;
+            stats.bestScore = Math.max(stats.bestScore, gameScore);
+            return stats;
+        });
+    }
+
+    /**
+     * Retrieves a player's statistics, including updates not yet flushed.
+     * @param playerId the player ID
+     * @return the statistics
+     */
+    public PlayerStatsResponse getStats(Long playerId) {
+        PlayerStats stored;
+        Pending unflushed;
+        while (true) {
+            Pending read = new Pending();
+            Batch writing;
+            long taken;
+            handOverLock.readLock().lock();
+            try {
+                writing = inFlight;
+                taken = batchesTaken;
+                pending.computeIfPresent(playerId, (id, p) -> {
+                    read.add(p);
+                    return p;
+                });
+            } finally {
+                handOverLock.readLock().unlock();
+            }
+            stored = playerStatsRepository.findById(playerId).orElse(null);
+            Pending writingDelta = writing != null ? writing.deltas.get(playerId) : null;
+            if (writingDelta != null && (stored == null || stored.getLastFlushId() != writing.id)) {
+                read.add(writingDelta); // Not committed when the row was read
+            }
+            handOverLock.readLock().lock();
+            try {
+                if (batchesTaken == taken) {
+                    unflushed = read; // No flush took the pending deltas while the row was read
+                    break;
+                }
+            } finally {
+                handOverLock.readLock().unlock();
+            }
+        }
+        if (stored == null) {
+            if (unflushed.isEmpty() && !playerRepository.existsById(playerId)) {
+                throw new IllegalArgumentException("Player not found with id: " + playerId);
+            }
+            stored = new PlayerStats(playerId);
+        }
+        return new PlayerStatsResponse(playerId,
+                stored.getGamesPlayed() + unflushed.gamesPlayed,
+                stored.getTotalScore() + unflushed.totalScore,
+                Math.max(stored.getBestScore(), unflushed.bestScore),
+                stored.getTilesCleared() + unflushed.tilesCleared,
+                stored.getMovesMade() + unflushed.movesMade);
+    }
+
+    /**
+     * Folds all pending deltas into the PlayerStats table in one transaction.
+     * The deltas are handed over to the batch under a short lock and written outside it, so reads do
+     * not wait for the write. If the write fails the deltas are put back for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${candycrush.stats.flush-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        Batch batch = new Batch(ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+        handOverLock.writeLock().lock();
+        try {
+            for (Long playerId : pending.keySet()) {
+                pending.computeIfPresent(playerId, (id, p) -> {
+                    batch.deltas.put(id, p);
+                    return null;
+                });
+            }
+            if (batch.deltas.isEmpty()) {
+                return;
+            }
+            inFlight = batch;
+            batchesTaken++;
+        } finally {
+            handOverLock.writeLock().unlock();
+        }
+        boolean written = false;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<PlayerStats> rows = new ArrayList<>(playerStatsRepository.findAllById(batch.deltas.keySet()));
+                Map<Long, PlayerStats> byPlayer = new HashMap<>();
+                for (PlayerStats row : rows) {
+                    byPlayer.put(row.getPlayerId(), row);
+                }
+                for (Map.Entry<Long, Pending> entry : batch.deltas.entrySet()) {
+                    PlayerStats row = byPlayer.get(entry.getKey());
+                    if (row == null) {
+                        row = new PlayerStats(entry.getKey());
+                        rows.add(row);
+                    }
+                    Pending delta = entry.getValue();
+                    row.setGamesPlayed(row.getGamesPlayed() + delta.gamesPlayed);
+                    row.setTotalScore(row.getTotalScore() + delta.totalScore);
+                    row.setBestScore(Math.max(row.getBestScore(), delta.bestScore));
+                    row.setTilesCleared(row.getTilesCleared() + delta.tilesCleared);
+                    row.setMovesMade(row.getMovesMade() + delta.movesMade);
+                    row.setLastFlushId(batch.id);
+                }
+                playerStatsRepository.saveAll(rows);
+            });
+            written = true;
+        } finally {
+            handOverLock.writeLock().lock();
+            try {
+                if (!written) {
+                    // Put back in the same hand-over, so no read sees the deltas both in flight and pending
+                    batch.deltas.forEach((playerId, delta) -> pending.compute(playerId, (id, p) -> {
+                        Pending stats = p != null ? p : new Pending(); // Batch deltas stay read-only
+                        stats.add(delta);
+                        return stats;
+                    }));
+                }
+                inFlight = null;
+            } finally {
+                handOverLock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Deltas taken by one flush, with the ID it stamps on the rows it writes.
+     */
+    private static final class Batch {
+        final long id;
+        final Map<Long, Pending> deltas = new HashMap<>();
+
+        Batch(long id) {
+            this.id = id;
+        }
+    }
+
+    /**
+     * Deltas accumulated for one player since the last flush. Only touched inside map compute calls;
+     * once handed over to a batch, only read.
+     */
+    private static final class Pending {
+        long gamesPlayed;
+        long totalScore;
+        int bestScore;
+        long tilesCleared;
+        long movesMade;
+
+        void add(Pending other) {
+            gamesPlayed += other.gamesPlayed;
+            totalScore += other.totalScore;
+            bestScore = Math.max(bestScore, other.bestScore);
+            tilesCleared += other.tilesCleared;
+            movesMade += other.movesMade;
+        }
+
+        boolean isEmpty() {
+            return gamesPlayed == 0 && movesMade == 0;
+        }
+    }
+}
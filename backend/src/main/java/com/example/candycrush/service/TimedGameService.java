@@ -0,0 +1,268 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.model.ArchivedGame;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Race;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.repository.RaceRepository;
+import com.example.candycrush.timer.GameTickEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Timed single-player games and multiplayer races.
+ * Deadlines are kept in the {@link GameTickEngine}; when one passes the game or the whole race is
+ * finished in a single transaction, so a race's games and its winner are recorded together. Until
+ * then the race standings and the leaderboard show the live scores of its games. A finish that keeps
+ * failing is logged and scheduled again.
+ */
+@Service
+public class TimedGameService {
+
+    private static final Logger log = LoggerFactory.getLogger(TimedGameService.class);
+    private static final int MAX_FINISH_ATTEMPTS = 3;
+    private static final Duration FINISH_RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final GameRepository gameRepository;
+    private final PlayerRepository playerRepository;
+    private final RaceRepository raceRepository;
+    private final ArchivedGameRepository archivedGameRepository;
+    private final GameService gameService;
+    private final GameTickEngine tickEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final PlayerStatsService playerStatsService;
+    private final GameStateCache gameStateCache;
+    private final int maxDurationSeconds;
+    private final int maxRacePlayers;
+
+    @Autowired
+    public TimedGameService(GameRepository gameRepository, PlayerRepository playerRepository,
+                            RaceRepository raceRepository, ArchivedGameRepository archivedGameRepository, GameService gameService, GameTickEngine tickEngine,
+                            TransactionTemplate transactionTemplate, PlayerStatsService playerStatsService,
+                            GameStateCache gameStateCache,
+                            @Value("${candycrush.timed.max-duration-seconds:3600}") int maxDurationSeconds,
+                            @Value("${candycrush.race.max-players:8}") int maxRacePlayers) {
+        this.gameRepository = gameRepository;
+        this.playerRepository = playerRepository;
+        this.raceRepository = raceRepository;
+        this.archivedGameRepository = archivedGameRepository;
+        this.gameService = gameService;
+        this.tickEngine = tickEngine;
+        this.transactionTemplate = transactionTemplate;
+        this.playerStatsService = playerStatsService;
+        this.gameStateCache = gameStateCache;
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.maxRacePlayers = maxRacePlayers;
+    }
+
+    /**
+     * Creates a single-player game that ends after the given duration.
+     * @param playerId the player ID
+     * @param durationSeconds how long the game lasts
+     * @return the created Game
+     */
+    public Game createTimedGame(Long playerId, Integer durationSeconds) {
+        Instant endsAt = deadline(durationSeconds);
+        Player player = playerRepository.findById(playerId)
+                .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId));
+        long seed = ThreadLocalRandom.current().nextLong();
+        Game game = newTimedGame(player, GameMode.TIMED, seed, gameService.generateSeededBoard(seed), endsAt);
+        game = gameRepository.save(game);
+        playerStatsService.recordGameCreated(playerId);
+        Long gameId = game.getId();
+        tickEngine.schedule(endsAt, () -> finishGame(gameId));
+        return game;
+    }
+
+    /**
+     * Creates a race: every player gets a game on the same seeded board, all ending at the same time.
+     * @param playerIds the racing players
+     * @param durationSeconds how long the race lasts
+     * @return the created Race
+     */
+    public Race createRace(List<Long> playerIds, int durationSeconds) {
+        if (playerIds == null || playerIds.size() < 2 || playerIds.size() > maxRacePlayers) {
+            throw new IllegalArgumentException("A race needs between 2 and " + maxRacePlayers + " players");
+        }
+        if (playerIds.stream().distinct().count() != playerIds.size()) {
+            throw new IllegalArgumentException("Players in a race must be distinct");
+        }
+        Instant endsAt = deadline(durationSeconds);
+        long seed = ThreadLocalRandom.current().nextLong();
+        String board = gameService.generateSeededBoard(seed);
+        Race race = transactionTemplate.execute(status -> {
+            List<Player> players = new ArrayList<>();
+            for (Long playerId : playerIds) {
+                players.add(playerRepository.findById(playerId)
+                        .orElseThrow(() -> new IllegalArgumentException("Player not found with id: " + playerId)));
+            }
+            Race saved = raceRepository.save(new Race(seed, endsAt));
+            List<Game> games = new ArrayList<>();
+            for (Player player : players) {
+                Game game = newTimedGame(player, GameMode.RACE, seed, board, endsAt);
+                game.setRace(saved);
+                games.add(game);
+            }
+            gameRepository.saveAll(games);
+            return saved;
+        });
+        playerIds.forEach(playerStatsService::recordGameCreated);
+        Long raceId = race.getId();
+        tickEngine.schedule(endsAt, () -> finishRace(raceId));
+        return race;
+    }
+
+    /**
+     * Retrieves a race.
+     * @param raceId the race ID
+     * @return the Race
+     */
+    public Race getRace(Long raceId) {
+        return raceRepository.findById(raceId)
+                .orElseThrow(() -> new IllegalArgumentException("Race not found with id: " + raceId));
+    }
+
+    /**
+     * Retrieves the games of a race, highest score first.
+     * @param raceId the race ID
+     * @return the race games
+     */
+    public List<Game> getRaceGames(Long raceId) {
+        return gameRepository.findByRaceIdOrderByScoreDesc(raceId);
+    }
+
+    /**
+     * Retrieves the archived games of a race, highest score first.
+     * @param raceId the race ID
+     * @return the archived race games
+     */
+    public List<ArchivedGame> getArchivedRaceGames(Long raceId) {
+        return archivedGameRepository.findByRaceIdOrderByScoreDesc(raceId);
+    }
+
+    /**
+     * Marks a timed game as finished. Does nothing if it already is.
+     * @param gameId the game ID
+     */
+    void finishGame(Long gameId) {
+        boolean done = withRetry(() -> transactionTemplate.executeWithoutResult(status ->
+                gameRepository.findById(gameId)
+                        .filter(game -> game.getStatus() == GameStatus.ACTIVE)
+                        .ifPresent(game -> {
+                            game.setStatus(GameStatus.FINISHED);
+                            game.setLastActivityAt(Instant.now());
+                            gameRepository.save(game);
+                        })), "game " + gameId, () -> finishGame(gameId));
+        if (done) {
+            gameStateCache.invalidate(gameId);
+        }
+    }
+
+    /**
+     * Finishes every game of a race and records the winner, all in one transaction.
+     * Does nothing if the race is already finished.
+     * @param raceId the race ID
+     */
+    void finishRace(Long raceId) {
+        List<Long> finished = new ArrayList<>();
+        boolean done = withRetry(() -> transactionTemplate.executeWithoutResult(status -> {
+            finished.clear();
+            Race race = raceRepository.findById(raceId).orElse(null);
+            if (race == null || race.getStatus() != GameStatus.ACTIVE) {
+                return;
+            }
+            List<Game> games = gameRepository.findByRaceIdOrderByScoreDesc(raceId);
+            Instant now = Instant.now();
+            for (Game game : games) {
+                game.setStatus(GameStatus.FINISHED);
+                game.setLastActivityAt(now);
+                finished.add(game.getId());
+            }
+            gameRepository.saveAll(games);
+            games.stream()
+                    .max(Comparator.comparingInt(Game::getScore).thenComparing(Game::getId, Comparator.reverseOrder()))
+                    .ifPresent(winner -> race.setWinner(winner.getPlayer()));
+            race.setStatus(GameStatus.FINISHED);
+            raceRepository.save(race);
+        }), "race " + raceId, () -> finishRace(raceId));
+        if (done) {
+            gameStateCache.invalidateAll(finished);
+        }
+    }
+
+    /**
+     * Puts the deadlines of unfinished games and races back into the tick engine after a restart.
+     * Anything already past its deadline is finished on the next tick.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescheduleActive() {
+        for (Game game : gameRepository.findByModeAndStatus(GameMode.TIMED, GameStatus.ACTIVE)) {
+            Long gameId = game.getId();
+            tickEngine.schedule(game.getEndsAt(), () -> finishGame(gameId));
+        }
+        for (Race race : raceRepository.findByStatus(GameStatus.ACTIVE)) {
+            Long raceId = race.getId();
+            tickEngine.schedule(race.getEndsAt(), () -> finishRace(raceId));
+        }
+    }
+
+    private Instant deadline(Integer durationSeconds) {
+        if (durationSeconds == null || durationSeconds < 1 || durationSeconds > maxDurationSeconds) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + maxDurationSeconds + " seconds");
+        }
+        return Instant.now().plusSeconds(durationSeconds);
+    }
+
+    private static Game newTimedGame(Player player, GameMode mode, long seed, String board, Instant endsAt) {
+        Game game = new Game(player);
+        game.setMode(mode);
+        game.setSeed(seed);
+        game.setBoard(board);
+        game.setEndsAt(endsAt);
+        return game;
+    }
+
+    /**
+     * Retries when a move was saved concurrently; moves are rejected once the deadline has passed,
+     * so a retry converges quickly. If the finish still fails it is logged and handed back to the
+     * tick engine to run again later, so the game or race does not stay active for good.
+     * @return true if the finish went through
+     */
+    private boolean withRetry(Runnable finish, String what, Runnable retryLater) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                finish.run();
+                return true;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt < MAX_FINISH_ATTEMPTS) {
+                    continue;
+                }
+                log.warn("Could not finish {} after {} attempts, retrying in {}", what, attempt, FINISH_RETRY_DELAY, e);
+            } catch (RuntimeException e) {
+                log.error("Could not finish {}, retrying in {}", what, FINISH_RETRY_DELAY, e);
+            }
+            tickEngine.schedule(Instant.now().plus(FINISH_RETRY_DELAY), retryLater);
+            return false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.candycrush.timer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded tick engine for game deadlines.
+ * Request threads hand timers over through a lock-free queue; one tick thread moves them into a
+ * {@link TimingWheel} and advances it every tick. Expired actions run on a small worker pool so
+ * database work never stalls the tick thread.
+ */
+@Component
+public class GameTickEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GameTickEngine.class);
+
+    private final Queue<PendingTimer> incoming = new ConcurrentLinkedQueue<>();
+    private final TimingWheel<Runnable> wheel;
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor workers;
+    private final List<Runnable> expired = new ArrayList<>();
+
+    public GameTickEngine(@Value("${candycrush.timer.tick-ms:100}") long tickMs,
+                          @Value("${candycrush.timer.wheel-size:512}") int wheelSize,
+                          @Value("${candycrush.timer.workers:2}") int workerThreads,
+                          MeterRegistry meterRegistry) {
+        this.wheel = new TimingWheel<>(tickMs, wheelSize, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "game-tick"));
+        // Expiries are retried from the database on restart, so a full queue runs them on the tick thread
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(10_000), r -> daemon(r, "game-expiry"), new ThreadPoolExecutor.CallerRunsPolicy());
+        Gauge.builder("candycrush.timer.pending", wheel, TimingWheel::size)
+                .description("Game deadlines waiting in the timing wheel")
+                .register(meterRegistry);
+        ticker.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedules an action to run once the deadline has passed.
+     * @param deadline when the action is due
+     * @param action the action, run on a worker thread
+     */
+    public void schedule(Instant deadline, Runnable action) {
+        incoming.add(new PendingTimer(deadline.toEpochMilli(), action));
+    }
+
+    private void tick() {
+        int dispatched = 0;
+        try {
+            PendingTimer timer;
+            while ((timer = incoming.poll()) != null) {
+                wheel.add(timer.deadlineMs, timer.action, expired::add);
+            }
+            wheel.advanceTo(System.currentTimeMillis(), expired::add);
+            for (Runnable action : expired) {
+                workers.execute(action);
+                dispatched++;
+            }
+        } catch (RuntimeException e) {
+            // Keep ticking: an exception would cancel the fixed-rate schedule. Expired actions not
+            // handed over yet go back in, already due, so the next tick runs them.
+            log.error("Game tick failed, retrying {} expired timers on the next tick", expired.size() - dispatched, e);
+            long now = System.currentTimeMillis();
+            for (int i = dispatched; i < expired.size(); i++) {
+                incoming.add(new PendingTimer(now, expired.get(i)));
+            }
+        } finally {
+            expired.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        workers.shutdown();
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+
+    private static final class PendingTimer {
+        final long deadlineMs;
+        final Runnable action;
+
+        PendingTimer(long deadlineMs, Runnable action) {
+            this.deadlineMs = deadlineMs;
+            this.action = action;
+        }
+    }
+}
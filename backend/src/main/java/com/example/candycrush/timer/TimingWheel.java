@@ -0,0 +1,139 @@
+package com.example.candycrush.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel.
+ * Level 0 has wheelSize slots of tickMs each; every further level has slots as wide as the whole
+ * level below it, and levels are added on demand. Adding and expiring a timer are O(1), and a
+ * timer is moved down at most once per level, so tens of thousands of game deadlines cost one
+ * small node each instead of a thread or a scheduled future.
+ * Deadlines fire on the first tick at or after them, never early.
+ * Not thread-safe: it is owned by the single tick thread of {@link GameTickEngine}.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMs;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    private long time; // Current time, aligned down to tickMs
+    private int size;
+
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs < 1 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be at least 1ms and the wheel at least 2 slots");
+        }
+        this.tickMs = tickMs;
+        this.wheelSize = wheelSize;
+        this.time = startMs - Math.floorMod(startMs, tickMs);
+        levels.add(new Level<>(tickMs, wheelSize));
+    }
+
+    /**
+     * Adds a timer.
+     * @param deadlineMs when the timer is due
+     * @param task the value handed back on expiry
+     * @param expired receives the task right away if the deadline has already passed
+     */
+    public void add(long deadlineMs, T task, Consumer<T> expired) {
+        insert(new Node<>(deadlineMs, task), expired);
+    }
+
+    /**
+     * Advances the wheel, handing every timer whose deadline has passed to the consumer.
+     * @param nowMs the current time
+     * @param expired receives each expired task
+     */
+    public void advanceTo(long nowMs, Consumer<T> expired) {
+        while (time + tickMs <= nowMs) {
+            long previous = time;
+            time += tickMs;
+            // Fire the level 0 slot whose window has fully passed. This comes first because the
+            // slot is reused for the last window of the new rotation, which cascading may fill.
+            Node<T> fired = levels.get(0).drain(previous);
+            while (fired != null) {
+                size--;
+                expired.accept(fired.task);
+                fired = fired.next;
+            }
+            // Move timers of higher levels whose slot has just started down a level, top first
+            for (int k = levels.size() - 1; k >= 1; k--) {
+                Level<T> level = levels.get(k);
+                if (time % level.slotMs == 0) {
+                    Node<T> node = level.drain(time);
+                    while (node != null) {
+                        Node<T> next = node.next;
+                        node.next = null;
+                        size--;
+                        insert(node, expired);
+                        node = next;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pending timers.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void insert(Node<T> node, Consumer<T> expired) {
+        long delta = node.deadlineMs - time;
+        if (delta < 0) {
+            expired.accept(node.task);
+            return;
+        }
+        int k = 0;
+        while (delta >= levels.get(k).spanMs) {
+            k++;
+            if (k == levels.size()) {
+                Level<T> top = levels.get(k - 1);
+                levels.add(new Level<>(top.spanMs, wheelSize));
+            }
+        }
+        levels.get(k).add(node);
+        size++;
+    }
+
+    private static final class Level<T> {
+        final long slotMs;
+        final long spanMs;
+        final Node<T>[] slots;
+
+        @SuppressWarnings("unchecked")
+        Level(long slotMs, int wheelSize) {
+            this.slotMs = slotMs;
+            this.spanMs = slotMs > Long.MAX_VALUE / wheelSize ? Long.MAX_VALUE : slotMs * wheelSize;
+            this.slots = (Node<T>[]) new Node[wheelSize];
+        }
+
+        void add(Node<T> node) {
+            int index = (int) Math.floorMod(node.deadlineMs / slotMs, (long) slots.length);
+            node.next = slots[index];
+            slots[index] = node;
+        }
+
+        Node<T> drain(long slotStartMs) {
+            int index = (int) Math.floorMod(slotStartMs / slotMs, (long) slots.length);
+            Node<T> head = slots[index];
+            slots[index] = null;
+            return head;
+        }
+    }
+
+    private static final class Node<T> {
+        final long deadlineMs;
+        final T task;
+        Node<T> next;
+
+        Node(long deadlineMs, T task) {
+            this.deadlineMs = deadlineMs;
+            this.task = task;
+        }
+    }
+}
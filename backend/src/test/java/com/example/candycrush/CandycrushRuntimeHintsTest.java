@@ -0,0 +1,44 @@
+package com.example.candycrush;
+
+import com.example.candycrush.config.CandycrushRuntimeHints;
+import com.example.candycrush.dto.GameResponse;
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import com.example.candycrush.model.TileType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CandycrushRuntimeHintsTest {
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setup() {
+        hints = new RuntimeHints();
+        new CandycrushRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testBoardTypesAreRegistered() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Tile[][].class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(Tile.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(Tile.class, "getColor").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(Tile.class.getMethod("of", TileColor.class, TileType.class)).invoke().test(hints));
+    }
+
+    @Test
+    void testGameResponseFieldsAreRegistered() throws Exception {
+        assertTrue(RuntimeHintsPredicates.reflection().onField(GameResponse.class.getField("board")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onField(GameResponse.class.getField("score")).test(hints));
+    }
+
+    @Test
+    void testRequestBodiesAreRegistered() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(MoveRequest.class, "setFromRow").test(hints));
+    }
+}
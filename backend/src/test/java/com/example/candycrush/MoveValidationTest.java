@@ -1,6 +1,7 @@
 package com.example.candycrush;
 
 import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
 import com.example.candycrush.service.GameService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -16,10 +17,10 @@ public class MoveValidationTest {
         service = new GameService();
         board = new Tile[8][8];
         // Fill board with alternating colors to prevent accidental matches
-        String[] colors = {"RED", "GREEN", "ORANGE", "PURPLE"};
+        TileColor[] colors = {TileColor.RED, TileColor.GREEN, TileColor.ORANGE, TileColor.PURPLE};
         for (int i = 0; i < 8; i++) {
             for (int j = 0; j < 8; j++) {
-                board[i][j] = new Tile(colors[(i + j) % colors.length]);
+                board[i][j] = Tile.of(colors[(i + j) % colors.length]);
             }
         }
         // Now, override specific tiles for each test scenario in the tests themselves
@@ -33,8 +34,8 @@ public class MoveValidationTest {
     @Test
     void testAdjacentButNoMatchIsInvalid() {
         // Set up a non-matching scenario
-        board[0][2] = new Tile("GREEN");
-        board[0][3] = new Tile("BLUE");
+        board[0][2] = Tile.of(TileColor.GREEN);
+        board[0][3] = Tile.of(TileColor.BLUE);
         // Swapping (0,2) and (0,3) does not create a match
         assertFalse(callIsValidMove(0,2,0,3));
     }
@@ -42,10 +43,10 @@ public class MoveValidationTest {
     @Test
     void testValidHorizontalMatchMove() {
         // Set up: [BLUE, BLUE, RED, BLUE]
-        board[0][0] = new Tile("BLUE");
-        board[0][1] = new Tile("BLUE");
-        board[0][2] = new Tile("RED");
-        board[0][3] = new Tile("BLUE");
+        board[0][0] = Tile.of(TileColor.BLUE);
+        board[0][1] = Tile.of(TileColor.BLUE);
+        board[0][2] = Tile.of(TileColor.RED);
+        board[0][3] = Tile.of(TileColor.BLUE);
         // Swapping (0,2) and (0,3) creates [BLUE, BLUE, BLUE, RED], which is a match
         assertTrue(callIsValidMove(0,2,0,3));
     }
@@ -55,14 +56,14 @@ public class MoveValidationTest {
         // Set up so that swapping (2,0) and (2,1) creates a vertical match at column 0
         // Clear possible accidental matches
         for (int i = 0; i < 8; i++) {
-            board[i][0] = new Tile("RED");
-            board[2][i] = new Tile("RED");
+            board[i][0] = Tile.of(TileColor.RED);
+            board[2][i] = Tile.of(TileColor.RED);
         }
         // Set up only the relevant tiles for the vertical match (pre-swap)
-        board[0][0] = new Tile("BLUE");
-        board[1][0] = new Tile("BLUE");
-        board[2][0] = new Tile("RED");
-        board[2][1] = new Tile("BLUE");
+        board[0][0] = Tile.of(TileColor.BLUE);
+        board[1][0] = Tile.of(TileColor.BLUE);
+        board[2][0] = Tile.of(TileColor.RED);
+        board[2][1] = Tile.of(TileColor.BLUE);
         // Swap (2,0) and (2,1) should create a vertical match at column 0
         assertTrue(callIsValidMove(2,0,2,1));
     }
@@ -81,7 +82,7 @@ public class MoveValidationTest {
         // removed logging label);
         for (int i = 0; i < 8; i++) {
             for (int j = 0; j < 8; j++) {
-                System.out.print(board[i][j].getColor().charAt(0) + " ");
+                System.out.print(board[i][j].getColor().name().charAt(0) + " ");
             }
             // removed logging );
         }
@@ -91,12 +92,12 @@ public class MoveValidationTest {
     @Test
     void testValidEdgeOfBoardHorizontalMatch() {
         // Set all of row 0 to GREEN
-        for (int i = 0; i < 8; i++) board[0][i] = new Tile("GREEN");
+        for (int i = 0; i < 8; i++) board[0][i] = Tile.of(TileColor.GREEN);
         // Set up: [GREEN, GREEN, GREEN, GREEN, BLUE, RED, BLUE, BLUE]
-        board[0][4] = new Tile("BLUE");
-        board[0][5] = new Tile("RED");
-        board[0][6] = new Tile("BLUE");
-        board[0][7] = new Tile("BLUE");
+        board[0][4] = Tile.of(TileColor.BLUE);
+        board[0][5] = Tile.of(TileColor.RED);
+        board[0][6] = Tile.of(TileColor.BLUE);
+        board[0][7] = Tile.of(TileColor.BLUE);
         printBoard("Before swap (horizontal edge)");
         // Swap (0,4)-(0,5) to create three BLUEs at the edge
         Tile temp = board[0][4]; board[0][4] = board[0][5]; board[0][5] = temp;
@@ -111,12 +112,12 @@ public class MoveValidationTest {
     @Test
     void testValidEdgeOfBoardVerticalMatch() {
         // Set all of col 7 to GREEN
-        for (int i = 0; i < 8; i++) board[i][7] = new Tile("GREEN");
+        for (int i = 0; i < 8; i++) board[i][7] = Tile.of(TileColor.GREEN);
         // Set up: [GREEN, GREEN, GREEN, GREEN, BLUE, RED, BLUE, BLUE] in col 7
-        board[4][7] = new Tile("BLUE");
-        board[5][7] = new Tile("RED");
-        board[6][7] = new Tile("BLUE");
-        board[7][7] = new Tile("BLUE");
+        board[4][7] = Tile.of(TileColor.BLUE);
+        board[5][7] = Tile.of(TileColor.RED);
+        board[6][7] = Tile.of(TileColor.BLUE);
+        board[7][7] = Tile.of(TileColor.BLUE);
         printBoard("Before swap (vertical edge)");
         // Swap (4,7)-(5,7) to create three BLUEs at the bottom edge
         Tile temp = board[4][7]; board[4][7] = board[5][7]; board[5][7] = temp;
@@ -132,15 +133,15 @@ public class MoveValidationTest {
     void testValidLShapedMatch() {
         // Set all tiles to GREEN to avoid accidental matches
         for (int i = 0; i < 8; i++) {
-            board[3][i] = new Tile("GREEN");
-            board[i][4] = new Tile("GREEN");
+            board[3][i] = Tile.of(TileColor.GREEN);
+            board[i][4] = Tile.of(TileColor.GREEN);
         }
         // Set up L-shape: row 3 [GREEN, GREEN, BLUE, BLUE, GREEN], col 4 [GREEN, BLUE, GREEN, GREEN, BLUE]
-        board[3][2] = new Tile("BLUE");
-        board[3][3] = new Tile("BLUE");
-        board[3][4] = new Tile("GREEN");
-        board[2][4] = new Tile("BLUE");
-        board[4][4] = new Tile("BLUE");
+        board[3][2] = Tile.of(TileColor.BLUE);
+        board[3][3] = Tile.of(TileColor.BLUE);
+        board[3][4] = Tile.of(TileColor.GREEN);
+        board[2][4] = Tile.of(TileColor.BLUE);
+        board[4][4] = Tile.of(TileColor.BLUE);
         // Swapping (2,4) and (3,4) creates an L-shape of BLUEs at (3,2)-(3,4) and (2,4)-(4,4)
         assertTrue(callIsValidMove(2,4,3,4));
     }
@@ -149,15 +150,15 @@ public class MoveValidationTest {
     void testValidTShapedMatch() {
         // Clear accidental matches
         for (int i = 0; i < 8; i++) {
-            board[4][i] = new Tile("GREEN");
-            board[i][3] = new Tile("GREEN");
+            board[4][i] = Tile.of(TileColor.GREEN);
+            board[i][3] = Tile.of(TileColor.GREEN);
         }
         // Set up T-shape: row 4 [GREEN, GREEN, BLUE, BLUE, BLUE, GREEN], col 3 [GREEN, GREEN, BLUE, GREEN, BLUE, GREEN]
-        board[4][2] = new Tile("BLUE");
-        board[4][3] = new Tile("BLUE");
-        board[4][4] = new Tile("BLUE");
-        board[2][3] = new Tile("BLUE");
-        board[4][5] = new Tile("GREEN");
+        board[4][2] = Tile.of(TileColor.BLUE);
+        board[4][3] = Tile.of(TileColor.BLUE);
+        board[4][4] = Tile.of(TileColor.BLUE);
+        board[2][3] = Tile.of(TileColor.BLUE);
+        board[4][5] = Tile.of(TileColor.GREEN);
         // Swapping (2,3) and (3,3) creates a T-shape of BLUEs at (4,2)-(4,4) and (2,3)-(4,3)
         assertTrue(callIsValidMove(2,3,3,3));
     }
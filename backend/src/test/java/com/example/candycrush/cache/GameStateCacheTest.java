@@ -0,0 +1,209 @@
+package com.example.candycrush.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameStateCacheTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicInteger versionLookups = new AtomicInteger();
+    private final AtomicLong storedVersion = new AtomicLong();
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testConcurrentMissesShareOneLoad() throws Exception {
+        GameStateCache cache = cache();
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch loading = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CachedGameState>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.get(1L, this::storedVersion, id -> {
+                        loading.countDown();
+                        sleep(100); // Hold the load open while the other threads arrive
+                        return state(loads.incrementAndGet(), 10);
+                    });
+                }));
+            }
+            start.countDown();
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (Future<CachedGameState> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).getVersion());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get(), "Only one thread should have loaded the game");
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", GameStateCache.NAME).tag("result", "miss")
+                .functionCounter().count());
+        assertEquals(threads - 1, meterRegistry.get("cache.gets").tag("cache", GameStateCache.NAME).tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testInvalidateForcesReload() {
+        GameStateCache cache = cache();
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        cache.invalidate(1L);
+        assertEquals(2, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutVersionLookups() {
+        GameStateCache cache = cache();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, versionLookups.get(), "A fresh entry should not touch the database");
+    }
+
+    @Test
+    void testStaleEntryIsRevalidatedAgainstTheStoredVersion() {
+        GameStateCache cache = cache();
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        storedVersion.set(1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        assertEquals(1, loads.get(), "An unchanged game should not be loaded again");
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        assertEquals(1, versionLookups.get(), "A revalidated entry should be fresh again");
+
+        // Another instance saved version 2 and only invalidated its own cache
+        storedVersion.set(2);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(2, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testConcurrentReadsOfAStaleEntryShareOneVersionLookup() throws Exception {
+        GameStateCache cache = cache();
+        cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10));
+        storedVersion.set(1);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        int threads = 16;
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch others = new CountDownLatch(threads - 1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CachedGameState>> results = new ArrayList<>();
+            results.add(executor.submit(() -> cache.get(1L, id -> {
+                checking.countDown();
+                await(others); // Hold the version check open until every other reader has been served
+                return storedVersion(id);
+            }, id -> state(loads.incrementAndGet(), 10))));
+            assertTrue(checking.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    try {
+                        return cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10));
+                    } finally {
+                        others.countDown();
+                    }
+                }));
+            }
+            for (Future<CachedGameState> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS).getVersion());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, versionLookups.get(), "Only one reader should check the stale entry");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedVersionLookupDropsTheEntry() {
+        GameStateCache cache = cache();
+        cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, id -> {
+            throw new IllegalArgumentException("Game not found with id: " + id);
+        }, id -> state(loads.incrementAndGet(), 10)));
+        cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10));
+        assertEquals(2, loads.get(), "A game whose version cannot be read should be loaded again");
+    }
+
+    @Test
+    void testGameThatLeftTheStoreIsDropped() {
+        GameStateCache cache = cache();
+        cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        // Archived on another instance: the version lookup finds no row and the reload finds no game
+        assertNull(cache.get(1L, id -> -1L, id -> null));
+        assertNull(cache.get(1L, this::storedVersion, id -> null));
+        assertEquals(2, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion(),
+                "A missing game should leave nothing cached");
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        GameStateCache cache = cache();
+        assertThrows(IllegalArgumentException.class, () -> cache.get(1L, this::storedVersion, id -> {
+            throw new IllegalArgumentException("Game not found with id: " + id);
+        }));
+        assertEquals(1, cache.get(1L, this::storedVersion, id -> state(loads.incrementAndGet(), 10)).getVersion());
+    }
+
+    @Test
+    void testMemoryIsBoundedByPayloadSize() {
+        long maxBytes = 64 * 1024;
+        GameStateCache cache = new GameStateCache(meterRegistry, maxBytes, 600, 1000, now::get);
+        for (long id = 0; id < 1000; id++) {
+            cache.get(id, this::storedVersion, key -> state(1, 1024));
+        }
+        long size = cache.weightedSize();
+        assertTrue(size <= maxBytes, "Cache holds " + size + " bytes, more than its " + maxBytes + " byte bound");
+        assertTrue(size > maxBytes / 2, "Cache should stay close to its bound, holds " + size + " bytes");
+        assertEquals(size, meterRegistry.get("candycrush.cache.game-state.bytes").gauge().value());
+    }
+
+    private GameStateCache cache() {
+        return new GameStateCache(meterRegistry, 1 << 20, 600, 1000, now::get);
+    }
+
+    private long storedVersion(Long gameId) {
+        versionLookups.incrementAndGet();
+        return storedVersion.get();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static CachedGameState state(long version, int size) {
+        return new CachedGameState(version, new byte[size], null);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
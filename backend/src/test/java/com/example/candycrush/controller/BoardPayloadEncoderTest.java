@@ -0,0 +1,41 @@
+package com.example.candycrush.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardPayloadEncoderTest {
+
+    private final BoardPayloadEncoder encoder = new BoardPayloadEncoder(new ObjectMapper(), 100);
+
+    @Test
+    void testAcceptEncodingNegotiation() {
+        assertTrue(BoardPayloadEncoder.acceptsGzip("gzip, deflate, br"));
+        assertTrue(BoardPayloadEncoder.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        assertTrue(BoardPayloadEncoder.acceptsGzip("*"));
+        assertFalse(BoardPayloadEncoder.acceptsGzip("gzip;q=0"));
+        assertFalse(BoardPayloadEncoder.acceptsGzip("br, deflate"));
+        assertFalse(BoardPayloadEncoder.acceptsGzip(null));
+    }
+
+    @Test
+    void testOnlyPayloadsAboveThresholdAreCompressed() {
+        assertFalse(encoder.shouldCompress(99, "gzip"));
+        assertTrue(encoder.shouldCompress(100, "gzip"));
+        assertFalse(encoder.shouldCompress(5000, "identity"));
+    }
+
+    @Test
+    void testGzipRoundTrip() throws Exception {
+        byte[] json = "{\"board\":[[{\"color\":\"RED\",\"type\":\"regular\"}]]}".repeat(10).getBytes();
+        byte[] compressed = encoder.gzip(json);
+        assertTrue(compressed.length < json.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertArrayEquals(json, in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.candycrush.controller;
+
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.service.GameService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameControllerCacheTest {
+
+    private final Map<String, AtomicInteger> repositoryCalls = new ConcurrentHashMap<>();
+    private final GameController controller = new GameController();
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        game = new Game(new Player("cached"));
+        game.setId(1L);
+        game.setVersion(3L);
+        game.setBoard(new GameService().generateSeededBoard(1L));
+        // Repository that counts its calls; loads are slowed down so concurrent readers pile up on them
+        GameRepository gameRepository = (GameRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{GameRepository.class}, (proxy, method, args) -> {
+                    repositoryCalls.computeIfAbsent(method.getName(), name -> new AtomicInteger()).incrementAndGet();
+                    return switch (method.getName()) {
+                        case "findById" -> {
+                            Thread.sleep(50);
+                            yield Optional.of(game).filter(g -> g.getId().equals(args[0]));
+                        }
+                        case "findVersionById" -> Optional.of(game.getVersion()).filter(v -> game.getId().equals(args[0]));
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+        ReflectionTestUtils.setField(controller, "gameService",
+                new GameService(gameRepository, null, null, null, null, null));
+        ReflectionTestUtils.setField(controller, "boardPayloadEncoder", new BoardPayloadEncoder(new ObjectMapper(), 1024));
+        ReflectionTestUtils.setField(controller, "gameStateCache",
+                new GameStateCache(new SimpleMeterRegistry(), 1 << 20, 600, 60000));
+    }
+
+    @Test
+    void testConcurrentGetsCostOneRepositoryRead() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<ResponseEntity<byte[]>>> responses = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return controller.getGameState(1L, null, null);
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<byte[]>> response : responses) {
+                assertEquals(HttpStatus.OK, response.get(5, TimeUnit.SECONDS).getStatusCode());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, calls("findById"), "Concurrent readers should share one load");
+        assertEquals(0, calls("findVersionById"), "Reads of a fresh entry should not query the database");
+
+        ResponseEntity<byte[]> notModified = controller.getGameState(1L, "\"1-3\"", null);
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        assertEquals(1, calls("findById") + calls("findVersionById"), "A conditional hit should not query the database");
+    }
+
+    @Test
+    void testMissingOrArchivedGameIsNotFound() {
+        assertEquals(HttpStatus.NOT_FOUND, controller.getGameState(2L, null, null).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getGameState(2L, null, null).getStatusCode());
+        assertEquals(2, calls("findById"), "A missing game should not be cached");
+    }
+
+    private int calls(String method) {
+        AtomicInteger count = repositoryCalls.get(method);
+        return count != null ? count.get() : 0;
+    }
+}
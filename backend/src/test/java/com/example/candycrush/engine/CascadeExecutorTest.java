@@ -0,0 +1,153 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CascadeExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    /** Refills every cell with the first color, so a uniform board never settles. */
+    private static final Random SAME_COLOR = new Random() {
+        @Override
+        public int nextInt(int bound) {
+            return 0;
+        }
+    };
+
+    @Test
+    void testSingleMatchSettlesInOneStep() {
+        CascadeExecutor executor = new CascadeExecutor(new ScalarMatchScanner(), 10, Duration.ofSeconds(1), registry);
+        Tile[][] board = stripes(8);
+        board[0][0] = board[0][1] = board[0][2] = Tile.of(TileColor.RED);
+        // Refill row 0 with RED, PURPLE and ORANGE: none is a stripe color, and with the ORANGE at
+        // (0, 3) the row only has two of a kind in a row, so nothing lines up again
+        TileColor[] refills = {TileColor.RED, TileColor.PURPLE, TileColor.ORANGE};
+        Random refill = new Random() {
+            private int next;
+
+            @Override
+            public int nextInt(int bound) {
+                return refills[next++ % refills.length].ordinal();
+            }
+        };
+        board[0][3] = Tile.of(TileColor.ORANGE);
+
+        CascadeTrace trace = executor.run(board, refill);
+        assertEquals(CascadeTrace.Stop.SETTLED, trace.getStop());
+        assertEquals(1, trace.getDepth());
+        assertEquals(1, trace.getRuns(0));
+        assertEquals(3, trace.getTilesCleared(0));
+        assertEquals(3, trace.getColumnsRefilled(0));
+        assertEquals(3, trace.getTotalCleared());
+        assertEquals(1.0, registry.get("candycrush.cascade.depth").summary().totalAmount());
+    }
+
+    @Test
+    void testMaxDepthStopsEndlessCascade() {
+        CascadeExecutor executor = new CascadeExecutor(new ScalarMatchScanner(), 5, Duration.ofSeconds(10), registry);
+        CascadeTrace trace = executor.run(uniform(8), SAME_COLOR);
+        assertEquals(CascadeTrace.Stop.MAX_DEPTH, trace.getStop());
+        assertEquals(5, trace.getDepth());
+        assertEquals(5 * 64, trace.getTotalCleared());
+        assertEquals(16, trace.getRuns(0), "Every row and every column is one run");
+        assertEquals(1.0, registry.get("candycrush.cascade.truncated").tag("reason", "max_depth").counter().count());
+    }
+
+    @Test
+    void testTimeBudgetStopsAfterFirstStep() {
+        CascadeExecutor executor = new CascadeExecutor(new ScalarMatchScanner(), 1000, Duration.ZERO, registry);
+        CascadeTrace trace = executor.run(uniform(8), SAME_COLOR);
+        assertEquals(CascadeTrace.Stop.TIME, trace.getStop());
+        assertEquals(1, trace.getDepth(), "The first step always runs so a valid move clears its match");
+        assertEquals(1.0, registry.get("candycrush.cascade.truncated").tag("reason", "time").counter().count());
+    }
+
+    @Test
+    void testTruncatedCascadeLeavesNoMatchToScoreLater() {
+        CascadeExecutor executor = new CascadeExecutor(new ScalarMatchScanner(), 5, Duration.ofSeconds(10), registry);
+        Tile[][] board = uniform(8);
+        CascadeTrace trace = executor.run(board, SAME_COLOR);
+        assertEquals(CascadeTrace.Stop.MAX_DEPTH, trace.getStop());
+        assertEquals(5 * 64, trace.getTotalCleared(), "Dissolved tiles should not count as cleared");
+        assertNoMatches(board);
+
+        CascadeExecutor timed = new CascadeExecutor(new ScalarMatchScanner(), 1000, Duration.ZERO, registry);
+        board = uniform(8);
+        assertEquals(CascadeTrace.Stop.TIME, timed.run(board, SAME_COLOR).getStop());
+        assertNoMatches(board);
+        assertEquals(0, timed.run(board, SAME_COLOR).getTotalCleared(), "The next cascade should have nothing to credit");
+    }
+
+    @Test
+    void testDissolveClearsEveryMatchOfARandomBoard() {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            Tile[][] board = new Tile[8][8];
+            for (Tile[] row : board) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = Tile.of(TileColor.values()[random.nextInt(3)]); // Few colors, many matches
+                }
+            }
+            CascadeExecutor.dissolveMatches(board, new ScalarMatchScanner().findMatches(board), random);
+            assertNoMatches(board);
+        }
+    }
+
+    @Test
+    void testTraceBufferIsReusedPerThread() {
+        CascadeExecutor executor = new CascadeExecutor(new ScalarMatchScanner(), 3, Duration.ofSeconds(1), registry);
+        CascadeTrace first = executor.run(uniform(8), SAME_COLOR);
+        assertEquals(3, first.getDepth());
+        CascadeTrace second = executor.run(stripes(8), SAME_COLOR);
+        assertSame(first, second);
+        assertEquals(0, second.getDepth());
+        assertThrows(IndexOutOfBoundsException.class, () -> second.getRuns(0));
+    }
+
+    @Test
+    void testCrossingRunsCountSeparately() {
+        Tile[][] board = stripes(8);
+        // An L of reds: a row run and a column run sharing the corner
+        board[5][2] = board[5][3] = board[5][4] = Tile.of(TileColor.RED);
+        board[6][2] = board[7][2] = Tile.of(TileColor.RED);
+        boolean[][] matched = new ScalarMatchScanner().findMatches(board);
+        assertEquals(2, CascadeExecutor.countRuns(board, matched));
+    }
+
+    private static void assertNoMatches(Tile[][] board) {
+        boolean[][] matched = new ScalarMatchScanner().findMatches(board);
+        for (boolean[] row : matched) {
+            for (boolean cell : row) {
+                assertFalse(cell, "The board should be left without matches");
+            }
+        }
+    }
+
+    private static Tile[][] uniform(int size) {
+        Tile[][] board = new Tile[size][size];
+        for (Tile[] row : board) {
+            java.util.Arrays.fill(row, Tile.of(TileColor.RED));
+        }
+        return board;
+    }
+
+    /** Alternating colors with no match anywhere. */
+    private static Tile[][] stripes(int size) {
+        TileColor[] colors = {TileColor.BLUE, TileColor.GREEN, TileColor.YELLOW};
+        Tile[][] board = new Tile[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                board[i][j] = Tile.of(colors[(i + j) % colors.length]);
+            }
+        }
+        return board;
+    }
+}
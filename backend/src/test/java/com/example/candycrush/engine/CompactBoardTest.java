@@ -0,0 +1,40 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactBoardTest {
+
+    @Test
+    void testRoundTripKeepsColorsAndEmptyCells() {
+        Random random = new Random(35);
+        for (int[] size : new int[][] {{8, 8}, {1, 1}, {3, 7}, {13, 5}, {0, 0}}) {
+            Tile[][] board = MatchScannerEquivalenceTest.randomBoard(random, size[0], size[1],
+                    TileColor.values().length, 0.2);
+            Tile[][] unpacked = CompactBoard.unpack(CompactBoard.pack(board));
+            assertEquals(size[0], unpacked.length);
+            for (int i = 0; i < size[0]; i++) {
+                assertArrayEquals(board[i], unpacked[i], "Row " + i + " of a " + size[0] + "x" + size[1] + " board");
+            }
+        }
+    }
+
+    @Test
+    void testStandardBoardPacksToThreeBitsPerCell() {
+        Tile[][] board = new Tile[8][8];
+        for (Tile[] row : board) {
+            java.util.Arrays.fill(row, Tile.of(TileColor.ORANGE));
+        }
+        assertEquals(2 + 24, CompactBoard.pack(board).length);
+    }
+
+    @Test
+    void testOversizedBoardIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> CompactBoard.pack(new Tile[256][1]));
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Times the scalar and vector scanners on square boards of several sizes and reports ns per scan
+ * and ns per cell. Each measurement cycles through a pool of random boards after a warmup of the
+ * same length, so the JIT has compiled the vector code before timing starts.
+ *
+ * Run with: mvn -Pbenchmark test
+ * Tunables (system properties): benchmark.sizes, benchmark.seconds.
+ */
+@Tag("benchmark")
+public class MatchScannerBenchmarkTest {
+
+    private static final int BOARDS = 64;
+
+    private volatile int sink;
+
+    @Test
+    void compareScanners() throws Exception {
+        assertTrue(MatchScanners.vectorAvailable(), "Run with --add-modules " + MatchScanners.VECTOR_MODULE);
+        long seconds = Long.getLong("benchmark.seconds", 2L);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-8s %14s %14s %10s %10s %8s%n",
+                "size", "scalar ns", "vector ns", "scalar/c", "vector/c", "speedup"));
+        for (String size : System.getProperty("benchmark.sizes", "8,32,128,512").split(",")) {
+            int n = Integer.parseInt(size.trim());
+            Tile[][][] boards = new Tile[BOARDS][][];
+            Random random = new Random(n);
+            for (int b = 0; b < BOARDS; b++) {
+                boards[b] = MatchScannerEquivalenceTest.randomBoard(random, n, n, TileColor.values().length, 0.0);
+            }
+            double scalar = nanosPerScan(new ScalarMatchScanner(), boards, seconds);
+            double vector = nanosPerScan(new VectorMatchScanner(), boards, seconds);
+            double cells = (double) n * n;
+            out.append(String.format("%-8s %14.1f %14.1f %10.2f %10.2f %7.2fx%n",
+                    n + "x" + n, scalar, vector, scalar / cells, vector / cells, scalar / vector));
+        }
+        System.out.println(out);
+        Files.writeString(Path.of("target", "match-scanner-benchmark.txt"), out.toString());
+    }
+
+    private double nanosPerScan(MatchScanner scanner, Tile[][][] boards, long seconds) {
+        run(scanner, boards, TimeUnit.SECONDS.toNanos(seconds));
+        long[] result = run(scanner, boards, TimeUnit.SECONDS.toNanos(seconds));
+        return (double) result[0] / result[1];
+    }
+
+    /**
+     * Scans boards round-robin for the given time.
+     * @return elapsed nanos and number of scans
+     */
+    private long[] run(MatchScanner scanner, Tile[][][] boards, long nanos) {
+        long start = System.nanoTime();
+        long scans = 0;
+        int found = 0;
+        long elapsed;
+        do {
+            for (Tile[][] board : boards) {
+                boolean[][] matched = scanner.findMatches(board);
+                if (matched[matched.length - 1][0]) {
+                    found++;
+                }
+            }
+            scans += boards.length;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < nanos);
+        sink = found;
+        return new long[] {elapsed, scans};
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.candycrush.engine;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks both scanners against the 8x8 scan GameService used before scanners existed, and the vector
+ * scanner against the scalar one on random boards with odd sizes, empty cells and few colors (long runs). Runs with the incubator module
+ * added by the surefire argLine; without it the vector cases are skipped by the fallback.
+ */
+public class MatchScannerEquivalenceTest {
+
+    private static final int BOARD_SIZE = 8;
+
+    private final MatchScanner scalar = new ScalarMatchScanner();
+    private final MatchScanner vector = MatchScanners.create(true);
+
+    @Test
+    void testVectorScannerIsSelectedWhenModuleIsPresent() {
+        assertEquals(MatchScanners.vectorAvailable(), vector instanceof VectorMatchScanner);
+        assertInstanceOf(ScalarMatchScanner.class, MatchScanners.create(false));
+    }
+
+    @Test
+    void testScannersAgreeOnRandomBoards() {
+        Random random = new Random(34);
+        int[][] sizes = {{1, 1}, {2, 7}, {3, 3}, {8, 8}, {5, 17}, {17, 5}, {31, 33}, {64, 64}, {100, 130}};
+        for (int[] size : sizes) {
+            for (int colors = 1; colors <= TileColor.values().length; colors++) {
+                for (int round = 0; round < 20; round++) {
+                    Tile[][] board = randomBoard(random, size[0], size[1], colors, round % 2 == 0 ? 0.0 : 0.1);
+                    assertArrayEquals(scalar.findMatches(board), vector.findMatches(board),
+                            "Scanners disagree on a " + size[0] + "x" + size[1] + " board with " + colors + " colors");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testScannersAgreeWithOriginalFindMatches() {
+        Random random = new Random(8);
+        for (int round = 0; round < 500; round++) {
+            Tile[][] board = randomBoard(random, BOARD_SIZE, BOARD_SIZE, 2 + round % 5, 0.05);
+            boolean[][] expected = originalFindMatches(board);
+            assertArrayEquals(expected, scalar.findMatches(board));
+            assertArrayEquals(expected, vector.findMatches(board));
+        }
+    }
+
+    @Test
+    void testEmptyBoard() {
+        assertEquals(0, vector.findMatches(new Tile[0][0]).length);
+        assertArrayEquals(new boolean[3][0], vector.findMatches(new Tile[3][0]));
+    }
+
+    static Tile[][] randomBoard(Random random, int rows, int cols, int colors, double emptyRatio) {
+        TileColor[] palette = TileColor.values();
+        Tile[][] board = new Tile[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                board[i][j] = random.nextDouble() < emptyRatio ? null : Tile.of(palette[random.nextInt(colors)]);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * GameService.findMatches as it was before it delegated to a MatchScanner.
+     */
+    private static boolean[][] originalFindMatches(Tile[][] board) {
+        boolean[][] matched = new boolean[BOARD_SIZE][BOARD_SIZE];
+        // Horizontal
+        for (int i = 0; i < BOARD_SIZE; i++) {
+            int count = 1;
+            for (int j = 1; j < BOARD_SIZE; j++) {
+                if (board[i][j] != null && board[i][j-1] != null && board[i][j].getColor() == board[i][j-1].getColor()) {
+                    count++;
+                } else {
+                    if (count >= 3) for (int k = 0; k < count; k++) matched[i][j-1-k] = true;
+                    count = 1;
+                }
+            }
+            if (count >= 3) for (int k = 0; k < count; k++) matched[i][BOARD_SIZE-1-k] = true;
+        }
+        // Vertical
+        for (int j = 0; j < BOARD_SIZE; j++) {
+            int count = 1;
+            for (int i = 1; i < BOARD_SIZE; i++) {
+                if (board[i][j] != null && board[i-1][j] != null && board[i][j].getColor() == board[i-1][j].getColor()) {
+                    count++;
+                } else {
+                    if (count >= 3) for (int k = 0; k < count; k++) matched[i-1-k][j] = true;
+                    count = 1;
+                }
+            }
+            if (count >= 3) for (int k = 0; k < count; k++) matched[BOARD_SIZE-1-k][j] = true;
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.candycrush.loadtest;
+
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.service.GameService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load test: boots the app on a random port with in-memory H2 and drives a weighted mix of
+ * player creation, game creation, legal moves, state polls and leaderboard reads from many
+ * concurrent clients, then reports throughput and p50/p99/p999 latency per endpoint.
+ *
+ * Run with: mvn -Pload-test test
+ * Tunables (system properties): load.clients, load.durationSeconds, load.warmupSeconds, load.mix,
+ * load.seed. Clients run on virtual threads when the JDK has them, otherwise one platform
+ * thread each. Admission limits are raised so the service itself is measured.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "candycrush.ratelimit.game.per-second=1000000",
+        "candycrush.ratelimit.game.burst=1000000",
+        "candycrush.ratelimit.player.per-second=1000000",
+        "candycrush.ratelimit.player.burst=1000000",
+        "candycrush.moves.max-concurrent=100000"
+})
+public class LoadTest {
+
+    private static final String DEFAULT_MIX = "players:1,games:4,moves:60,gets:30,leaderboard:5";
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    enum Endpoint {
+        PLAYERS("POST /api/players"),
+        GAMES("POST /api/games"),
+        MOVES("POST /api/games/{id}/moves"),
+        GETS("GET /api/games/{id}"),
+        LEADERBOARD("GET /api/games/leaderboard");
+
+        final String label;
+
+        Endpoint(String label) {
+            this.label = label;
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final GameService engine = new GameService();
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final Map<Endpoint, Histogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> rejected = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private volatile boolean recording;
+
+    @Test
+    void runWorkload() throws Exception {
+        int clients = Integer.getInteger("load.clients", 50);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 20);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 5);
+        long seed = Long.getLong("load.seed", 42L);
+        WorkloadMix mix = WorkloadMix.parse(System.getProperty("load.mix", DEFAULT_MIX));
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, 3));
+            rejected.put(endpoint, new LongAdder());
+            errors.put(endpoint, new LongAdder());
+        }
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        long deadline = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+        ExecutorService executor = newClientExecutor(clients);
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client(new Random(seed + i), mix, deadline);
+            executor.submit(client::run);
+        }
+        TimeUnit.NANOSECONDS.sleep(Math.max(0, measureFrom - System.nanoTime()));
+        recording = true;
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(durationSeconds + 60L, TimeUnit.SECONDS), "Clients did not finish");
+
+        String report = report(clients, durationSeconds);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "load-test-report.txt"), report);
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            long count = latencies.get(endpoint).getTotalCount();
+            if (mix.weight(endpoint) > 0) {
+                assertTrue(count > 0, endpoint.label + " was never called");
+            }
+            assertTrue(errors.get(endpoint).sum() <= count / 100, endpoint.label + " failed on more than 1% of requests");
+        }
+    }
+
+    /**
+     * One virtual user: keeps a player, a current game and its last known board.
+     */
+    private class Client {
+        private final Random random;
+        private final WorkloadMix mix;
+        private final long deadline;
+        private Long playerId;
+        private Long gameId;
+        private Tile[][] board;
+        private String etag;
+
+        Client(Random random, WorkloadMix mix, long deadline) {
+            this.random = random;
+            this.mix = mix;
+            this.deadline = deadline;
+        }
+
+        void run() {
+            while (System.nanoTime() < deadline) {
+                Endpoint endpoint = mix.pick(random);
+                if (playerId == null) {
+                    endpoint = Endpoint.PLAYERS;
+                } else if (gameId == null && (endpoint == Endpoint.MOVES || endpoint == Endpoint.GETS)) {
+                    endpoint = Endpoint.GAMES;
+                }
+                try {
+                    call(endpoint);
+                } catch (IOException e) {
+                    errors.get(endpoint).increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private void call(Endpoint endpoint) throws IOException, InterruptedException {
+            switch (endpoint) {
+                case PLAYERS -> {
+                    JsonNode player = send(endpoint, post("/api/players", "{\"name\":\"load-" + random.nextInt(1_000_000) + "\"}"));
+                    if (player != null) {
+                        playerId = player.get("id").asLong();
+                    }
+                }
+                case GAMES -> readGame(send(endpoint, post("/api/games", "{\"playerId\":" + playerId + "}")));
+                case MOVES -> {
+                    List<MoveRequest> moves = engine.findValidMoves(board);
+                    if (moves.isEmpty()) {
+                        gameId = null; // Stuck board: start over with a new game
+                        return;
+                    }
+                    readGame(send(endpoint, post("/api/games/" + gameId + "/moves",
+                            mapper.writeValueAsString(moves.get(random.nextInt(moves.size()))))));
+                }
+                case GETS -> {
+                    HttpRequest.Builder get = request("/api/games/" + gameId).GET();
+                    if (etag != null) {
+                        get.header("If-None-Match", etag);
+                    }
+                    readGame(send(endpoint, get));
+                }
+                case LEADERBOARD -> send(endpoint, request("/api/games/leaderboard").GET());
+            }
+        }
+
+        private void readGame(JsonNode game) throws IOException {
+            if (game != null) {
+                gameId = game.get("id").asLong();
+                board = mapper.treeToValue(game.get("board"), Tile[][].class);
+            }
+        }
+
+        private HttpRequest.Builder post(String path, String json) {
+            return request(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json));
+        }
+
+        private HttpRequest.Builder request(String path) {
+            return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        }
+
+        /**
+         * Sends a request and records its latency.
+         * @return the parsed body of a 200 response, otherwise null
+         */
+        private JsonNode send(Endpoint endpoint, HttpRequest.Builder request) throws IOException, InterruptedException {
+            long begin = System.nanoTime();
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            long latency = System.nanoTime() - begin;
+            if (recording) {
+                latencies.get(endpoint).recordValue(Math.min(latency, HIGHEST_LATENCY_NANOS));
+                if (response.statusCode() == 429) {
+                    rejected.get(endpoint).increment();
+                } else if (response.statusCode() >= 400) {
+                    errors.get(endpoint).increment();
+                }
+            }
+            if (endpoint == Endpoint.GETS) {
+                etag = response.headers().firstValue("ETag").orElse(etag);
+            }
+            return response.statusCode() == 200 ? mapper.readTree(response.body()) : null;
+        }
+    }
+
+    private String report(int clients, int durationSeconds) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("Load test: %d clients, %ds measured%n", clients, durationSeconds));
+        out.append(String.format("%-28s %9s %10s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "429s", "errors"));
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram h = latencies.get(endpoint);
+            out.append(String.format("%-28s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %7d %7d%n",
+                    endpoint.label, h.getTotalCount(), (double) h.getTotalCount() / durationSeconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()),
+                    rejected.get(endpoint).sum(), errors.get(endpoint).sum()));
+        }
+        return out.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Uses a virtual thread per client on JDKs that have them, a platform thread per client otherwise.
+     */
+    private static ExecutorService newClientExecutor(int clients) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(clients);
+        }
+    }
+}
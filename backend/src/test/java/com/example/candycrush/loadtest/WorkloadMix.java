@@ -0,0 +1,61 @@
+package com.example.candycrush.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted choice of endpoints, parsed from "players:1,games:4,moves:60,gets:30,leaderboard:5".
+ * Endpoints left out get weight 0.
+ */
+class WorkloadMix {
+
+    private final Map<LoadTest.Endpoint, Integer> weights;
+    private final LoadTest.Endpoint[] endpoints;
+    private final int[] cumulative;
+
+    private WorkloadMix(Map<LoadTest.Endpoint, Integer> weights) {
+        this.weights = weights;
+        this.endpoints = weights.keySet().toArray(new LoadTest.Endpoint[0]);
+        this.cumulative = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulative[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("Workload mix needs at least one positive weight");
+        }
+    }
+
+    static WorkloadMix parse(String spec) {
+        Map<LoadTest.Endpoint, Integer> weights = new EnumMap<>(LoadTest.Endpoint.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint:weight but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + parts[0]);
+            }
+            weights.put(LoadTest.Endpoint.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+        }
+        return new WorkloadMix(weights);
+    }
+
+    int weight(LoadTest.Endpoint endpoint) {
+        return weights.getOrDefault(endpoint, 0);
+    }
+
+    LoadTest.Endpoint pick(Random random) {
+        int r = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (r < cumulative[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.candycrush.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TileTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void testOneInstancePerColorAndType() {
+        assertSame(Tile.of(TileColor.RED), Tile.of(TileColor.RED, TileType.REGULAR));
+        assertSame(Tile.of(TileColor.BLUE), Tile.of(TileColor.BLUE, null));
+        assertNotSame(Tile.of(TileColor.RED), Tile.of(TileColor.BLUE));
+    }
+
+    @Test
+    void testJsonFormatIsUnchanged() throws Exception {
+        assertEquals("{\"color\":\"RED\",\"type\":\"regular\"}", mapper.writeValueAsString(Tile.of(TileColor.RED)));
+    }
+
+    @Test
+    void testParsedBoardsResolveToSharedInstances() throws Exception {
+        String json = "[[{\"color\":\"GREEN\",\"type\":\"regular\"},{\"color\":\"GREEN\",\"type\":\"regular\"}],"
+                + "[{\"color\":\"PURPLE\",\"type\":\"regular\"},null]]";
+        Tile[][] board = mapper.readValue(json, Tile[][].class);
+        assertSame(Tile.of(TileColor.GREEN), board[0][0]);
+        assertSame(board[0][0], board[0][1]);
+        assertSame(Tile.of(TileColor.PURPLE), board[1][0]);
+        assertNull(board[1][1]);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.candycrush.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MoveAdmissionFilterTest {
+
+    @Test
+    void testGameSegmentMatchesOnlyMoveEndpoints() {
+        assertEquals("42", MoveAdmissionFilter.gameSegment("/api/games/42/moves"));
+        assertEquals("7", MoveAdmissionFilter.gameSegment("/api/games/7/moves/"));
+        assertEquals("7", MoveAdmissionFilter.gameSegment("/api/games/7/moves/async"));
+        assertEquals("abc", MoveAdmissionFilter.gameSegment("/api/games/abc/moves"));
+        assertNull(MoveAdmissionFilter.gameSegment("/api/games/42"));
+        assertNull(MoveAdmissionFilter.gameSegment("/api/games/leaderboard"));
+        assertNull(MoveAdmissionFilter.gameSegment("/api/games/42/movesx"));
+        assertNull(MoveAdmissionFilter.gameSegment("/api/players/1"));
+    }
+
+    @Test
+    void testEverySpellingOfAnIdSharesItsBucket() {
+        assertEquals(1L, MoveAdmissionFilter.gameKey("0000000000000000001"));
+        assertEquals(1000000000000000001L, MoveAdmissionFilter.gameKey("1000000000000000001"));
+        assertEquals(MoveAdmissionFilter.gameKey("abc"), MoveAdmissionFilter.gameKey("99999999999999999999"));
+    }
+
+    @Test
+    void testLeadingZerosAreAdmittedAgainstTheGame() throws Exception {
+        assertSecondMoveIsRejected("/api/games/1/moves", "/api/games/0000000000000000001/moves");
+    }
+
+    @Test
+    void testPercentEncodedIdIsAdmittedAgainstTheGame() throws Exception {
+        assertSecondMoveIsRejected("/api/games/1/moves", "/api/games/%31/moves");
+    }
+
+    @Test
+    void testPathParameterIsAdmittedAgainstTheGame() throws Exception {
+        assertSecondMoveIsRejected("/api/games/1/moves", "/api/games/1/moves;x");
+    }
+
+    @Test
+    void testNineteenDigitIdIsAdmittedAgainstTheGame() throws Exception {
+        assertSecondMoveIsRejected("/api/games/1000000000000000001/moves", "/api/games/1000000000000000001/moves");
+    }
+
+    @Test
+    void testUnparseableIdIsStillAdmitted() throws Exception {
+        assertSecondMoveIsRejected("/api/games/abc/moves", "/api/games/99999999999999999999/moves");
+    }
+
+    @Test
+    void testPlayerHeaderDoesNotPickTheBucket() throws Exception {
+        MoveAdmissionFilter filter = new MoveAdmissionFilter(1000, 1000, 0.001, 1, 60000, 64, new SimpleMeterRegistry());
+        MockHttpServletRequest first = new MockHttpServletRequest("POST", "/api/games/1/moves");
+        first.addHeader("X-Player-Id", "1");
+        MockHttpServletRequest second = new MockHttpServletRequest("POST", "/api/games/2/moves");
+        second.addHeader("X-Player-Id", "2");
+        assertEquals(HttpStatus.OK.value(), move(filter, first).getStatus());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), move(filter, second).getStatus(),
+                "Moves from one address should share a bucket whatever player they claim");
+
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/games/3/moves");
+        other.setRemoteAddr("10.0.0.2");
+        assertEquals(HttpStatus.OK.value(), move(filter, other).getStatus());
+    }
+
+    @Test
+    void testRejectedFloodDoesNotUseUpTheGameBudget() throws Exception {
+        MoveAdmissionFilter filter = new MoveAdmissionFilter(0.001, 2, 0.001, 1, 60000, 64, new SimpleMeterRegistry());
+        assertEquals(HttpStatus.OK.value(), move(filter, "/api/games/1/moves").getStatus());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), move(filter, "/api/games/1/moves").getStatus());
+        }
+        MockHttpServletRequest honest = new MockHttpServletRequest("POST", "/api/games/1/moves");
+        honest.setRemoteAddr("10.0.0.2");
+        assertEquals(HttpStatus.OK.value(), move(filter, honest).getStatus(),
+                "Moves rejected by the player limit should have given their game token back");
+    }
+
+    /**
+     * With a game burst of one, the second move on the same game must be turned away.
+     */
+    private static void assertSecondMoveIsRejected(String firstUri, String secondUri) throws Exception {
+        MoveAdmissionFilter filter = new MoveAdmissionFilter(0.001, 1, 1000, 1000, 60000, 64, new SimpleMeterRegistry());
+        assertEquals(HttpStatus.OK.value(), move(filter, firstUri).getStatus());
+        MockHttpServletResponse second = move(filter, secondUri);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), second.getStatus(), secondUri + " should share the game's bucket");
+        assertNotNull(second.getHeader("Retry-After"));
+    }
+
+    private static MockHttpServletResponse move(MoveAdmissionFilter filter, String uri) throws Exception {
+        return move(filter, new MockHttpServletRequest("POST", uri));
+    }
+
+    private static MockHttpServletResponse move(MoveAdmissionFilter filter, MockHttpServletRequest request)
+            throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
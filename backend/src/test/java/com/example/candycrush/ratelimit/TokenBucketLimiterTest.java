@@ -0,0 +1,62 @@
+package com.example.candycrush.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+
+    @Test
+    void testBurstIsAdmittedThenRejected() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 5, now::get);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire(1L), "Request " + i + " should fit in the burst");
+        }
+        long wait = limiter.tryAcquire(1L);
+        assertTrue(wait > 0, "Request past the burst should be rejected");
+        assertTrue(wait <= TimeUnit.MILLISECONDS.toNanos(100), "Wait should be at most one emission interval");
+    }
+
+    @Test
+    void testTokensRefillOverTime() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, now::get);
+        assertEquals(0, limiter.tryAcquire("p"));
+        assertTrue(limiter.tryAcquire("p") > 0);
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, limiter.tryAcquire("p"));
+    }
+
+    @Test
+    void testReleasedTokenCanBeTakenAgain() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, now::get);
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+        limiter.release(1L);
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, now::get);
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+        assertEquals(0, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    void testIdleBucketsAreEvicted() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(10, 1, now::get);
+        limiter.tryAcquire(1L);
+        limiter.tryAcquire(2L);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        limiter.tryAcquire(2L);
+        assertEquals(1, limiter.evictIdle(TimeUnit.SECONDS.toNanos(10)));
+        assertEquals(1, limiter.size());
+    }
+}
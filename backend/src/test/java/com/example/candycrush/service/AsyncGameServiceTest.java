@@ -0,0 +1,81 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncGameServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch applied = new CountDownLatch(1);
+    private final AtomicInteger commits = new AtomicInteger();
+    private AsyncGameService asyncService;
+
+    /**
+     * Game service whose loads block until released and whose moves always apply.
+     */
+    private final GameService gameService = new GameService() {
+        @Override
+        public Game getGameState(Long gameId) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new Game(new Player("async"));
+        }
+
+        @Override
+        public MoveResult applyMove(Game game, int fromRow, int fromCol, int toRow, int toCol, boolean traceCascade) {
+            applied.countDown();
+            return MoveResult.applied(game, 3, 30, null);
+        }
+
+        @Override
+        public MoveResult commitMove(MoveResult result) {
+            commits.incrementAndGet();
+            return result;
+        }
+    };
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        release.countDown();
+        asyncService.shutdown();
+    }
+
+    @Test
+    void testSaturatedPoolRejectsTheMove() {
+        asyncService = new AsyncGameService(gameService, 1, 1, 1, 5000);
+        asyncService.makeMove(1L, 0, 0, 0, 1, false); // Holds the only I/O thread
+        asyncService.makeMove(1L, 0, 0, 0, 1, false); // Fills the I/O queue
+        CompletableFuture<MoveResult> rejected = asyncService.makeMove(1L, 0, 0, 0, 1, false);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> rejected.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(RejectedExecutionException.class, e.getCause());
+    }
+
+    @Test
+    void testTimedOutMoveIsNotSaved() throws Exception {
+        asyncService = new AsyncGameService(gameService, 1, 1, 1, 50);
+        CompletableFuture<MoveResult> move = asyncService.makeMove(1L, 0, 0, 0, 1, false);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> move.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        release.countDown(); // Let the pipeline carry on after the client has been answered
+        assertTrue(applied.await(1, TimeUnit.SECONDS));
+        asyncService.shutdown(); // Returns once the commit stage has run, were it to save
+        assertEquals(0, commits.get(), "A move reported as timed out should not be saved");
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Seeded, parallel property runner over random boards.
+ * Case i of a run uses a seed derived from the base seed and i, so a run is reproducible whatever
+ * the number of cores. The first failing case (lowest i) is shrunk: cells are emptied or recolored
+ * to lower colors, and for resizable properties rows and columns dropped, for as long as the
+ * property keeps failing. The report shows the seed, the original and the minimal board.
+ *
+ * Tunables (system properties): fuzz.iterations (cases per property), fuzz.seed (base seed).
+ */
+final class BoardFuzzer {
+
+    /**
+     * A property of a board. The seed lets a property draw extra inputs (a move, refill colors)
+     * that stay fixed while the board is shrunk.
+     */
+    @FunctionalInterface
+    interface BoardProperty {
+        /**
+         * @return null if the property holds, otherwise what went wrong
+         */
+        String check(Tile[][] board, long seed);
+    }
+
+    /**
+     * Shape of the random boards of a run.
+     */
+    record BoardShape(int minSide, int maxSide, double maxEmptyRatio, boolean resizable) {
+
+        static BoardShape standard(double maxEmptyRatio) {
+            return new BoardShape(8, 8, maxEmptyRatio, false);
+        }
+    }
+
+    private static final TileColor[] COLORS = TileColor.values();
+
+    private BoardFuzzer() {
+    }
+
+    static long iterations() {
+        return Long.getLong("fuzz.iterations", 10_000L);
+    }
+
+    static long baseSeed() {
+        return Long.getLong("fuzz.seed", 37L);
+    }
+
+    static void check(String name, BoardShape shape, BoardProperty property) {
+        long base = baseSeed();
+        Optional<Long> firstFailure = LongStream.range(0, iterations()).parallel()
+                .filter(i -> evaluate(property, board(shape, caseSeed(base, i)), caseSeed(base, i)) != null)
+                .boxed()
+                .findFirst();
+        if (firstFailure.isEmpty()) {
+            return;
+        }
+        long seed = caseSeed(base, firstFailure.get());
+        Tile[][] original = board(shape, seed);
+        String originalFailure = evaluate(property, original, seed);
+        Tile[][] minimal = shrink(original, seed, property, shape.resizable());
+        fail(String.format("%s failed on case %d (fuzz.seed=%d, case seed %d): %s%nBoard:%n%sShrunk to (%s):%n%s",
+                name, firstFailure.get(), base, seed, originalFailure, render(original),
+                evaluate(property, minimal, seed), render(minimal)));
+    }
+
+    static long caseSeed(long base, long index) {
+        return new SplittableRandom(base ^ (index * 0x9E3779B97F4A7C15L)).nextLong();
+    }
+
+    /**
+     * Random board: size within the shape, a random number of colors so that long runs and
+     * cascades are common, and a random share of empty cells.
+     */
+    static Tile[][] board(BoardShape shape, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int rows = random.nextInt(shape.minSide(), shape.maxSide() + 1);
+        int cols = random.nextInt(shape.minSide(), shape.maxSide() + 1);
+        int colors = random.nextInt(1, COLORS.length + 1);
+        double emptyRatio = shape.maxEmptyRatio() == 0 ? 0 : random.nextDouble(shape.maxEmptyRatio());
+        Tile[][] board = new Tile[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                board[i][j] = random.nextDouble() < emptyRatio ? null : Tile.of(COLORS[random.nextInt(colors)]);
+            }
+        }
+        return board;
+    }
+
+    private static String evaluate(BoardProperty property, Tile[][] board, long seed) {
+        try {
+            return property.check(ReferenceMatchEngine.copy(board), seed);
+        } catch (RuntimeException e) {
+            return "threw " + e;
+        }
+    }
+
+    /**
+     * Greedy shrinking: keep applying the first simplification that still fails until none does.
+     */
+    static Tile[][] shrink(Tile[][] board, long seed, BoardProperty property, boolean resizable) {
+        Tile[][] current = board;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (Tile[][] candidate : simplifications(current, resizable)) {
+                if (evaluate(property, candidate, seed) != null) {
+                    current = candidate;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return current;
+    }
+
+    private static List<Tile[][]> simplifications(Tile[][] board, boolean resizable) {
+        List<Tile[][]> candidates = new ArrayList<>();
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        if (resizable) {
+            for (int r = 0; r < rows && rows > 1; r++) {
+                candidates.add(withoutRow(board, r));
+            }
+            for (int c = 0; c < cols && cols > 1; c++) {
+                candidates.add(withoutColumn(board, c));
+            }
+        }
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                Tile tile = board[i][j];
+                if (tile == null) continue;
+                Tile[][] emptied = ReferenceMatchEngine.copy(board);
+                emptied[i][j] = null;
+                candidates.add(emptied);
+                if (tile.getColor().ordinal() > 0) {
+                    Tile[][] recolored = ReferenceMatchEngine.copy(board);
+                    recolored[i][j] = Tile.of(COLORS[0]);
+                    candidates.add(recolored);
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private static Tile[][] withoutRow(Tile[][] board, int row) {
+        Tile[][] smaller = new Tile[board.length - 1][];
+        for (int i = 0, k = 0; i < board.length; i++) {
+            if (i != row) smaller[k++] = board[i].clone();
+        }
+        return smaller;
+    }
+
+    private static Tile[][] withoutColumn(Tile[][] board, int col) {
+        Tile[][] smaller = new Tile[board.length][board[0].length - 1];
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0, k = 0; j < board[i].length; j++) {
+                if (j != col) smaller[i][k++] = board[i][j];
+            }
+        }
+        return smaller;
+    }
+
+    /**
+     * One letter per tile (first letter of the color), '.' for an empty cell.
+     */
+    static String render(Tile[][] board) {
+        StringBuilder out = new StringBuilder();
+        for (Tile[] row : board) {
+            for (Tile tile : row) {
+                out.append(tile == null ? '.' : tile.getColor().name().charAt(0)).append(' ');
+            }
+            out.append(System.lineSeparator());
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.ScalarMatchScanner;
+import com.example.candycrush.model.DailyChallenge;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.DailyChallengeRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.repository.PlayerStatsRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class DailyChallengeServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private DailyChallengeRepository dailyChallengeRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private DailyChallengeSolver solver;
+    private DailyChallengeService dailyService;
+
+    @BeforeEach
+    void setUp() {
+        ScalarMatchScanner scanner = new ScalarMatchScanner();
+        CascadeExecutor cascadeExecutor = new CascadeExecutor(scanner, 50, Duration.ofMillis(50), new SimpleMeterRegistry());
+        PlayerStatsService statsService = new PlayerStatsService(playerStatsRepository, playerRepository,
+                new TransactionTemplate(transactionManager));
+        GameService gameService = new GameService(gameRepository, playerRepository, statsService, scanner,
+                cascadeExecutor, null);
+        solver = new DailyChallengeSolver(scanner, cascadeExecutor, 8, 2);
+        dailyService = new DailyChallengeService(dailyChallengeRepository, gameRepository, archivedGameRepository,
+                playerRepository, gameService, solver, statsService, 5, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        solver.shutdown();
+    }
+
+    @Test
+    void testPrepareGeneratesAndSolvesAhead() {
+        assertEquals(2, dailyService.prepare(DAY));
+        for (LocalDate day : new LocalDate[]{DAY, DAY.plusDays(1)}) {
+            DailyChallenge challenge = dailyChallengeRepository.findById(day).orElseThrow();
+            assertEquals(5, challenge.getMoveBudget());
+            assertNotNull(challenge.getBestScore(), "Challenge of " + day + " should be solved");
+        }
+        assertEquals(0, dailyService.prepare(DAY), "Solved challenges should not be solved again");
+        assertEquals(1, dailyService.prepare(DAY.plusDays(1)), "Only the newly reached day should be solved");
+    }
+
+    @Test
+    void testPlayersShareTheBoardAndGetOneGameEach() {
+        dailyService.prepare(DAY);
+        Long alice = playerRepository.save(new Player("alice")).getId();
+        Long bob = playerRepository.save(new Player("bob")).getId();
+
+        Game first = dailyService.startGame(alice, DAY);
+        Game second = dailyService.startGame(bob, DAY);
+        DailyChallenge challenge = dailyService.getChallenge(DAY);
+        assertEquals(GameMode.DAILY, first.getMode());
+        assertEquals(challenge.getBoard(), first.getBoard());
+        assertEquals(challenge.getBoard(), second.getBoard());
+        assertEquals(challenge.getSeed(), first.getSeed());
+        assertEquals(5, first.getMoveLimit());
+        assertEquals(first.getId(), dailyService.startGame(alice, DAY).getId(), "A player gets one game per day");
+        assertEquals(2, dailyService.getTopGames(DAY).size());
+    }
+
+    @Test
+    void testUnknownDayIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> dailyService.getChallenge(DAY.minusDays(30)));
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.dto.MoveRequest;
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.MatchScanner;
+import com.example.candycrush.engine.ScalarMatchScanner;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Tile;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DailyChallengeSolverTest {
+
+    private static final long SEED = 20260101L;
+    private static final int MOVE_BUDGET = 8;
+
+    private final MatchScanner scanner = new ScalarMatchScanner();
+    private final CascadeExecutor cascadeExecutor = new CascadeExecutor(scanner, 50, Duration.ofMillis(50),
+            new SimpleMeterRegistry());
+    private final GameService gameService = new GameService();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<DailyChallengeSolver> solvers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        solvers.forEach(DailyChallengeSolver::shutdown);
+    }
+
+    @Test
+    void testSolutionReplaysToTheSameScore() throws Exception {
+        String board = gameService.generateSeededBoard(SEED);
+        DailyChallengeSolver.Solution solution = solver(32, 2).solve(read(board), SEED, MOVE_BUDGET);
+        assertTrue(solution.getScore() > 0);
+        assertEquals(MOVE_BUDGET, solution.getMoves().size());
+
+        Game game = new Game(new Player("daily"));
+        game.setMode(GameMode.DAILY);
+        game.setSeed(SEED);
+        game.setBoard(board);
+        game.setMoveLimit(MOVE_BUDGET);
+        for (MoveRequest move : solution.getMoves()) {
+            MoveResult result = gameService.applyMove(game, move.getFromRow(), move.getFromCol(),
+                    move.getToRow(), move.getToCol(), false);
+            assertTrue(result.isApplied(), "Solver move should be valid in the game");
+        }
+        assertEquals(solution.getScore(), game.getScore(), "Refills must replay exactly as in the solver");
+        assertEquals(GameStatus.FINISHED, game.getStatus(), "Game should end when the budget is used up");
+        assertFalse(gameService.applyMove(game, 0, 0, 0, 1, false).isApplied());
+    }
+
+    @Test
+    void testResultDoesNotDependOnParallelism() throws Exception {
+        Tile[][] board = read(gameService.generateSeededBoard(SEED));
+        DailyChallengeSolver.Solution single = solver(16, 1).solve(board, SEED, MOVE_BUDGET);
+        DailyChallengeSolver.Solution parallel = solver(16, 4).solve(board, SEED, MOVE_BUDGET);
+        assertEquals(single.getScore(), parallel.getScore());
+        assertEquals(objectMapper.writeValueAsString(single.getMoves()), objectMapper.writeValueAsString(parallel.getMoves()));
+    }
+
+    private DailyChallengeSolver solver(int beamWidth, int threads) {
+        DailyChallengeSolver solver = new DailyChallengeSolver(scanner, cascadeExecutor, beamWidth, threads);
+        solvers.add(solver);
+        return solver;
+    }
+
+    private Tile[][] read(String board) throws Exception {
+        return objectMapper.readValue(board, Tile[][].class);
+    }
+}
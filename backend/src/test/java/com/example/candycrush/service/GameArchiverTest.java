@@ -0,0 +1,194 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.cache.CachedGameState;
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.engine.CompactBoard;
+import com.example.candycrush.model.ArchivedGame;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameMode;
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.repository.PlayerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // The archiver commits its own batches
+public class GameArchiverTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private GameStateCache gameStateCache;
+    private GameArchiver archiver;
+    private Player player;
+    private String board;
+
+    @BeforeEach
+    void setUp() {
+        archivedGameRepository.deleteAll();
+        gameRepository.deleteAll();
+        // Batch size 2 so that archiving runs over several batches
+        gameStateCache = new GameStateCache(new SimpleMeterRegistry(), 1 << 20, 600, 1000);
+        archiver = new GameArchiver(gameRepository, archivedGameRepository, new TransactionTemplate(transactionManager),
+                gameStateCache, new SimpleMeterRegistry(), 1800, 3600, 2);
+        player = playerRepository.save(new Player("archived"));
+        board = new GameService().generateSeededBoard(7L);
+    }
+
+    @Test
+    void testIdleClassicGamesAreAbandoned() {
+        Game idle = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(31), 10);
+        Game recent = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(5), 20);
+        Game timed = save(GameMode.TIMED, GameStatus.ACTIVE, Duration.ofMinutes(31), 30);
+
+        assertEquals(1, archiver.abandonIdle(NOW));
+        Game abandoned = gameRepository.findById(idle.getId()).orElseThrow();
+        assertEquals(GameStatus.ABANDONED, abandoned.getStatus());
+        assertTrue(abandoned.getVersion() > idle.getVersion(), "Abandoning should bump the version");
+        assertEquals(GameStatus.ACTIVE, gameRepository.findById(recent.getId()).orElseThrow().getStatus());
+        assertEquals(GameStatus.ACTIVE, gameRepository.findById(timed.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testDailyGamesAreOnlyAbandonedOnceTheirDayIsOver() {
+        LocalDate today = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
+        Game idleToday = saveDaily(today, GameStatus.ACTIVE, Duration.ofHours(2));
+        Game unfinishedYesterday = saveDaily(today.minusDays(1), GameStatus.ACTIVE, Duration.ofMinutes(5));
+
+        assertEquals(1, archiver.abandonIdle(NOW));
+        assertEquals(GameStatus.ACTIVE, gameRepository.findById(idleToday.getId()).orElseThrow().getStatus(),
+                "A daily game idle during its day should stay playable");
+        assertEquals(GameStatus.ABANDONED, gameRepository.findById(unfinishedYesterday.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testDailyGamesAreOnlyArchivedOnceTheirDayIsOver() {
+        LocalDate today = LocalDate.ofInstant(NOW, ZoneOffset.UTC);
+        Game finishedToday = saveDaily(today, GameStatus.FINISHED, Duration.ofHours(2));
+        Game finishedYesterday = saveDaily(today.minusDays(1), GameStatus.FINISHED, Duration.ofHours(2));
+
+        assertEquals(1, archiver.archiveIdle(NOW));
+        assertTrue(gameRepository.findById(finishedToday.getId()).isPresent(),
+                "Today's game should stay, so the player cannot start the challenge again");
+        assertTrue(archivedGameRepository.findById(finishedYesterday.getId()).isPresent());
+    }
+
+    @Test
+    void testAbandonRunsInBatchesAndDropsCachedStates() {
+        Game first = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(40), 10);
+        Game second = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(35), 20);
+        Game third = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(31), 30);
+        Game recent = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(5), 40);
+        for (Game game : new Game[]{first, second, third, recent}) {
+            cache(game);
+        }
+
+        assertEquals(3, archiver.abandonIdle(NOW));
+        for (Game game : new Game[]{first, second, third}) {
+            assertEquals(GameStatus.ABANDONED, gameRepository.findById(game.getId()).orElseThrow().getStatus());
+            assertFalse(isCached(game), "Abandoned game should be dropped from the cache");
+        }
+        assertTrue(isCached(recent));
+    }
+
+    @Test
+    void testOldFinishedAndAbandonedGamesMoveToArchive() {
+        Game finished = save(GameMode.TIMED, GameStatus.FINISHED, Duration.ofMinutes(61), 120);
+        save(GameMode.CLASSIC, GameStatus.ABANDONED, Duration.ofMinutes(90), 40);
+        save(GameMode.CLASSIC, GameStatus.ABANDONED, Duration.ofMinutes(120), 50);
+        Game recentlyFinished = save(GameMode.TIMED, GameStatus.FINISHED, Duration.ofMinutes(10), 60);
+        Game active = save(GameMode.CLASSIC, GameStatus.ACTIVE, Duration.ofMinutes(90), 70);
+        cache(finished);
+        cache(recentlyFinished);
+
+        assertEquals(3, archiver.archiveIdle(NOW));
+        assertFalse(isCached(finished), "Archived game should be dropped from the cache");
+        assertTrue(isCached(recentlyFinished));
+        assertEquals(3, archivedGameRepository.count());
+        assertTrue(gameRepository.findById(finished.getId()).isEmpty());
+        assertTrue(gameRepository.findById(recentlyFinished.getId()).isPresent());
+        assertTrue(gameRepository.findById(active.getId()).isPresent());
+
+        ArchivedGame copy = archivedGameRepository.findById(finished.getId()).orElseThrow();
+        assertEquals(120, copy.getScore());
+        assertEquals(7L, copy.getSeed());
+        assertEquals(GameStatus.FINISHED, copy.getStatus());
+        assertEquals(player.getId(), copy.getPlayer().getId());
+        assertEquals(board, writeBoard(CompactBoard.unpack(copy.getBoard())));
+        assertEquals(120, archivedGameRepository.findTop10ByPlayerIsNotNullOrderByScoreDesc().get(0).getScore());
+    }
+
+    private Game save(GameMode mode, GameStatus status, Duration idle, int score) {
+        Game game = new Game(player);
+        game.setMode(mode);
+        game.setStatus(status);
+        game.setSeed(7L);
+        game.setBoard(board);
+        game.setScore(score);
+        game.setLastActivityAt(NOW.minus(idle));
+        return gameRepository.save(game);
+    }
+
+    private Game saveDaily(LocalDate day, GameStatus status, Duration idle) {
+        Game game = new Game(playerRepository.save(new Player("daily-" + day)));
+        game.setMode(GameMode.DAILY);
+        game.setStatus(status);
+        game.setChallengeDay(day);
+        game.setSeed(7L);
+        game.setBoard(board);
+        game.setLastActivityAt(NOW.minus(idle));
+        return gameRepository.save(game);
+    }
+
+    private void cache(Game game) {
+        gameStateCache.get(game.getId(), id -> game.getVersion(), id -> new CachedGameState(game.getVersion(), new byte[0], null));
+    }
+
+    private boolean isCached(Game game) {
+        boolean[] loaded = {false};
+        gameStateCache.get(game.getId(), id -> game.getVersion(), id -> {
+            loaded[0] = true;
+            return new CachedGameState(game.getVersion(), new byte[0], null);
+        });
+        return !loaded[0];
+    }
+
+    private String writeBoard(Tile[][] tiles) {
+        try {
+            return objectMapper.writeValueAsString(tiles);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.candycrush.service;
 
 import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
@@ -8,19 +9,19 @@ import static org.junit.jupiter.api.Assertions.*;
 public class GameServiceBoardUpdateTest {
     GameService service;
     private Tile[][] board;
-    private String[][] initialColors;
+    private TileColor[][] initialColors;
     private static final int BOARD_SIZE = 8;
 
     @BeforeEach
     void setup() {
         service = new GameService();
         board = new Tile[BOARD_SIZE][BOARD_SIZE];
-        initialColors = new String[BOARD_SIZE][BOARD_SIZE];
+        initialColors = new TileColor[BOARD_SIZE][BOARD_SIZE];
         // Robust fill: guarantees no initial matches horizontally or vertically
-        String[] baseColors = {"GREEN", "BLUE", "ORANGE", "PURPLE", "RED", "YELLOW"};
+        TileColor[] baseColors = {TileColor.GREEN, TileColor.BLUE, TileColor.ORANGE, TileColor.PURPLE, TileColor.RED, TileColor.YELLOW};
         for (int i = 0; i < BOARD_SIZE; i++) {
             for (int j = 0; j < BOARD_SIZE; j++) {
-                for (String color : baseColors) {
+                for (TileColor color : baseColors) {
                     boolean match = false;
                     // Check horizontal match
                     if (j >= 2 && color.equals(board[i][j-1].getColor()) && color.equals(board[i][j-2].getColor())) {
@@ -31,7 +32,7 @@ public class GameServiceBoardUpdateTest {
                         match = true;
                     }
                     if (!match) {
-                        board[i][j] = new Tile(color);
+                        board[i][j] = Tile.of(color);
                         initialColors[i][j] = color;
                         break;
                     }
@@ -52,10 +53,10 @@ public class GameServiceBoardUpdateTest {
         // Set up a board with a horizontal match after swap
         // Row 3: [BLUE, BLUE, RED, BLUE, RED, RED, RED, BLUE]
         // Explicitly set up a horizontal match at row 3: [*, RED, RED, RED, *, *, *, *]
-        board[3][1] = new Tile("RED");
-        board[3][2] = new Tile("RED");
-        board[3][3] = new Tile("GREEN"); // Will swap with RED at (3,4)
-        board[3][4] = new Tile("RED");
+        board[3][1] = Tile.of(TileColor.RED);
+        board[3][2] = Tile.of(TileColor.RED);
+        board[3][3] = Tile.of(TileColor.GREEN); // Will swap with RED at (3,4)
+        board[3][4] = Tile.of(TileColor.RED);
         // Swap (3,3) and (3,4) to create the match (3,2)-(3,4) all RED after swap
         boolean valid = service.isValidMove(board, 3, 3, 3, 4);
         assertTrue(valid, "Move should be valid and create a horizontal match");
@@ -90,10 +91,10 @@ public class GameServiceBoardUpdateTest {
     void testValidVerticalMatchUpdatesOnlyAffectedTiles() {
         // Set up a board with a vertical match after swap
         // Explicitly set up a vertical match at column 2: (2,2):YELLOW, (3,2):YELLOW, (4,2):GREEN, (5,2):YELLOW
-        board[2][2] = new Tile("YELLOW");
-        board[3][2] = new Tile("YELLOW");
-        board[4][2] = new Tile("GREEN"); // Will swap with YELLOW at (5,2)
-        board[5][2] = new Tile("YELLOW");
+        board[2][2] = Tile.of(TileColor.YELLOW);
+        board[3][2] = Tile.of(TileColor.YELLOW);
+        board[4][2] = Tile.of(TileColor.GREEN); // Will swap with YELLOW at (5,2)
+        board[5][2] = Tile.of(TileColor.YELLOW);
         // Swap (4,2) and (5,2) to create the match (2,2)-(4,2) all YELLOW after swap
         boolean valid = service.isValidMove(board, 4, 2, 5, 2);
         assertTrue(valid, "Move should be valid and create a vertical match");
@@ -125,12 +126,12 @@ public class GameServiceBoardUpdateTest {
     void testNoAffectOnUnrelatedTiles() {
         // Set up a board with a match in one column only
         // Explicitly set up a vertical match at column 1: (3,1):BLUE, (4,1):BLUE, (5,1):GREEN, (6,1):BLUE
-        board[2][1] = new Tile("RED"); // Not BLUE, prevents 4-in-a-row
-        board[3][1] = new Tile("BLUE");
-        board[4][1] = new Tile("BLUE");
-        board[5][1] = new Tile("RED"); // Will swap with BLUE at (6,1)
-        board[6][1] = new Tile("BLUE"); // After swap, rows 3-5 in col 1 are all BLUE
-        board[7][1] = new Tile("RED"); // Not BLUE, prevents 4-in-a-row
+        board[2][1] = Tile.of(TileColor.RED); // Not BLUE, prevents 4-in-a-row
+        board[3][1] = Tile.of(TileColor.BLUE);
+        board[4][1] = Tile.of(TileColor.BLUE);
+        board[5][1] = Tile.of(TileColor.RED); // Will swap with BLUE at (6,1)
+        board[6][1] = Tile.of(TileColor.BLUE); // After swap, rows 3-5 in col 1 are all BLUE
+        board[7][1] = Tile.of(TileColor.RED); // Not BLUE, prevents 4-in-a-row
         // Swap (5,1) and (6,1) to create the match (3,1)-(5,1) all BLUE after swap
         boolean valid = service.isValidMove(board, 5, 1, 6, 1);
         assertTrue(valid, "Move should be valid and create a vertical match");
@@ -0,0 +1,217 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.CascadeTrace;
+import com.example.candycrush.engine.MatchScanner;
+import com.example.candycrush.engine.MatchScanners;
+import com.example.candycrush.engine.ScalarMatchScanner;
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.service.BoardFuzzer.BoardShape;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Property and fuzz tests of every match engine variant against {@link ReferenceMatchEngine}.
+ * Each property runs over fuzz.iterations seeded random boards in parallel (10,000 by default;
+ * mvn -Pfuzz test runs millions) and reports the first failure with its board shrunk.
+ */
+public class MatchEnginePropertyTest {
+
+    private static final int CASCADE_DEPTH = 64;
+
+    private final Map<String, MatchScanner> scanners = new LinkedHashMap<>();
+    private final Map<String, GameService> services = new LinkedHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    MatchEnginePropertyTest() {
+        scanners.put("scalar", new ScalarMatchScanner());
+        if (MatchScanners.vectorAvailable()) {
+            scanners.put("vector", MatchScanners.create(true));
+        }
+        scanners.forEach((name, scanner) -> services.put(name, new GameService(null, null, null, scanner,
+                new CascadeExecutor(scanner, CASCADE_DEPTH, Duration.ofMinutes(1), new SimpleMeterRegistry()), null)));
+    }
+
+    @Test
+    void scannersFindReferenceMatches() {
+        BoardFuzzer.check("MatchScanner.findMatches", new BoardShape(1, 40, 0.3, true), (board, seed) -> {
+            boolean[][] expected = ReferenceMatchEngine.matches(board);
+            for (Map.Entry<String, MatchScanner> scanner : scanners.entrySet()) {
+                if (!Arrays.deepEquals(expected, scanner.getValue().findMatches(board))) {
+                    return scanner.getKey() + " scanner disagrees with the reference";
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void gameServiceFindsReferenceMatches() {
+        BoardFuzzer.check("GameService.findMatches", BoardShape.standard(0.2), (board, seed) -> {
+            boolean[][] expected = ReferenceMatchEngine.matches(board);
+            for (Map.Entry<String, GameService> service : services.entrySet()) {
+                if (!Arrays.deepEquals(expected, service.getValue().findMatches(board))) {
+                    return service.getKey() + " GameService disagrees with the reference";
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void isValidMoveAgreesWithReference() {
+        BoardFuzzer.check("GameService.isValidMove", BoardShape.standard(0.1), (board, seed) -> {
+            int[] move = move(board, seed);
+            boolean expected = ReferenceMatchEngine.isValidMove(board, move[0], move[1], move[2], move[3]);
+            Tile[][] before = ReferenceMatchEngine.copy(board);
+            for (Map.Entry<String, GameService> service : services.entrySet()) {
+                if (service.getValue().isValidMove(board, move[0], move[1], move[2], move[3]) != expected) {
+                    return String.format("%s says move %s is %s", service.getKey(), Arrays.toString(move),
+                            expected ? "invalid" : "valid");
+                }
+                if (!Arrays.deepEquals(before, board)) {
+                    return service.getKey() + " isValidMove changed the board";
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void clearMatchesEmptiesExactlyTheMatchedCells() {
+        BoardFuzzer.check("GameService.clearMatches", BoardShape.standard(0.2), (board, seed) -> {
+            boolean[][] matched = ReferenceMatchEngine.matches(board);
+            Tile[][] expected = ReferenceMatchEngine.copy(board);
+            int expectedCleared = ReferenceMatchEngine.clear(expected, matched);
+            for (Map.Entry<String, GameService> service : services.entrySet()) {
+                Tile[][] actual = ReferenceMatchEngine.copy(board);
+                int cleared = service.getValue().clearMatches(actual, service.getValue().findMatches(actual));
+                if (cleared != expectedCleared) {
+                    return service.getKey() + " cleared " + cleared + " tiles, expected " + expectedCleared;
+                }
+                if (!Arrays.deepEquals(expected, actual)) {
+                    return service.getKey() + " cleared different cells";
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void gravityKeepsColumnOrderAndRefillsEveryGap() {
+        BoardFuzzer.check("CascadeExecutor.collapseAndRefill", new BoardShape(1, 16, 0.6, true), (board, seed) -> {
+            Tile[][] expected = ReferenceMatchEngine.copy(board);
+            ReferenceMatchEngine.gravity(expected, new Random(seed));
+            Tile[][] actual = ReferenceMatchEngine.copy(board);
+            int refilled = CascadeExecutor.collapseAndRefill(actual, new Random(seed));
+            if (!Arrays.deepEquals(expected, actual)) {
+                return "board after gravity differs from the reference";
+            }
+            int gappedColumns = 0;
+            for (int col = 0; col < board[0].length; col++) {
+                int survivors = 0;
+                for (Tile[] row : board) {
+                    if (row[col] != null) survivors++;
+                }
+                if (survivors < board.length) gappedColumns++;
+                // Survivors sit at the bottom in their original order
+                for (int row = board.length - 1, k = board.length - 1; row >= 0; row--) {
+                    if (board[row][col] != null && actual[k--][col] != board[row][col]) {
+                        return "column " + col + " lost the order of its tiles";
+                    }
+                }
+            }
+            for (Tile[] row : actual) {
+                for (Tile tile : row) {
+                    if (tile == null) return "an empty cell is left after refilling";
+                }
+            }
+            return refilled == gappedColumns ? null
+                    : "reported " + refilled + " refilled columns, expected " + gappedColumns;
+        });
+    }
+
+    @Test
+    void cascadeMatchesReference() {
+        BoardFuzzer.check("CascadeExecutor.run", BoardShape.standard(0.0), (board, seed) -> {
+            Tile[][] expected = ReferenceMatchEngine.copy(board);
+            int expectedCleared = ReferenceMatchEngine.cascade(expected, new Random(seed), CASCADE_DEPTH);
+            for (Map.Entry<String, MatchScanner> scanner : scanners.entrySet()) {
+                CascadeExecutor executor = new CascadeExecutor(scanner.getValue(), CASCADE_DEPTH,
+                        Duration.ofMinutes(1), new SimpleMeterRegistry());
+                Tile[][] actual = ReferenceMatchEngine.copy(board);
+                CascadeTrace trace = executor.run(actual, new Random(seed));
+                if (trace.getTotalCleared() != expectedCleared) {
+                    return scanner.getKey() + " cascade cleared " + trace.getTotalCleared() + ", expected " + expectedCleared;
+                }
+                if (!Arrays.deepEquals(expected, actual)) {
+                    return scanner.getKey() + " cascade left a different board";
+                }
+                if (trace.getStop() == CascadeTrace.Stop.SETTLED && ReferenceMatchEngine.anyMatch(actual)) {
+                    return scanner.getKey() + " cascade reported a settled board that still has matches";
+                }
+                int stepTotal = 0;
+                for (int step = 0; step < trace.getDepth(); step++) {
+                    stepTotal += trace.getTilesCleared(step);
+                }
+                if (stepTotal != trace.getTotalCleared()) {
+                    return scanner.getKey() + " trace steps do not add up to the total";
+                }
+            }
+            return null;
+        });
+    }
+
+    @Test
+    void generatedBoardsStartWithoutMatches() {
+        GameService service = services.get("scalar");
+        BoardFuzzer.check("GameService.generateSeededBoard", BoardShape.standard(0.0), (ignored, seed) -> {
+            Tile[][] board;
+            try {
+                board = objectMapper.readValue(service.generateSeededBoard(seed), Tile[][].class);
+            } catch (Exception e) {
+                return "unreadable board: " + e;
+            }
+            if (board.length != 8 || board[0].length != 8) {
+                return "board is " + board.length + "x" + board[0].length;
+            }
+            for (Tile[] row : board) {
+                for (Tile tile : row) {
+                    if (tile == null) return "generated board has an empty cell";
+                }
+            }
+            return ReferenceMatchEngine.anyMatch(board) ? "generated board for seed " + seed + " has a match" : null;
+        });
+    }
+
+    /**
+     * A move drawn from the seed: mostly swaps with a neighbour, sometimes any two cells.
+     */
+    private static int[] move(Tile[][] board, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        int rows = board.length;
+        int cols = board[0].length;
+        int fromRow = random.nextInt(rows);
+        int fromCol = random.nextInt(cols);
+        if (random.nextInt(10) == 0) {
+            return new int[] {fromRow, fromCol, random.nextInt(rows), random.nextInt(cols)};
+        }
+        int toRow = fromRow;
+        int toCol = fromCol;
+        switch (random.nextInt(4)) {
+            case 0 -> toRow = fromRow > 0 ? fromRow - 1 : fromRow + 1;
+            case 1 -> toRow = fromRow < rows - 1 ? fromRow + 1 : fromRow - 1;
+            case 2 -> toCol = fromCol > 0 ? fromCol - 1 : fromCol + 1;
+            default -> toCol = fromCol < cols - 1 ? fromCol + 1 : fromCol - 1;
+        }
+        return new int[] {fromRow, fromCol, toRow, toCol};
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.dto.PlayerStatsResponse;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.PlayerStats;
+import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.repository.PlayerStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class PlayerStatsServiceTest {
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private PlayerStatsService statsService;
+    private Long playerId;
+
+    @BeforeEach
+    void setUp() {
+        statsService = new PlayerStatsService(playerStatsRepository, playerRepository,
+                new TransactionTemplate(transactionManager));
+        Player player = new Player();
+        player.setName("stats");
+        playerId = playerRepository.save(player).getId();
+    }
+
+    @Test
+    void testPendingUpdatesAreVisibleBeforeFlush() {
+        statsService.recordGameCreated(playerId);
+        statsService.recordMove(playerId, 30, 3, 30);
+        statsService.recordMove(playerId, 50, 5, 80);
+
+        PlayerStatsResponse stats = statsService.getStats(playerId);
+        assertEquals(1, stats.gamesPlayed);
+        assertEquals(80, stats.totalScore);
+        assertEquals(80, stats.bestScore);
+        assertEquals(8, stats.tilesCleared);
+        assertEquals(2, stats.movesMade);
+        assertTrue(playerStatsRepository.findById(playerId).isEmpty(), "Nothing should be written before a flush");
+    }
+
+    @Test
+    void testFlushMergesDeltasIntoStoredRow() {
+        statsService.recordGameCreated(playerId);
+        statsService.recordMove(playerId, 60, 6, 60);
+        statsService.flush();
+        statsService.recordGameCreated(playerId);
+        statsService.recordMove(playerId, 30, 3, 30);
+        statsService.flush();
+
+        PlayerStats stored = playerStatsRepository.findById(playerId).orElseThrow();
+        assertEquals(2, stored.getGamesPlayed());
+        assertEquals(90, stored.getTotalScore());
+        assertEquals(60, stored.getBestScore());
+        assertEquals(9, stored.getTilesCleared());
+        assertEquals(2, stored.getMovesMade());
+        assertEquals(45.0, statsService.getStats(playerId).averageScore);
+    }
+
+    @Test
+    void testReadsDuringAFlushCountEachDeltaOnceWithoutWaiting() throws Exception {
+        List<PlayerStatsResponse> duringFlush = new ArrayList<>();
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        statsService = new PlayerStatsService(playerStatsRepository, playerRepository,
+                new TransactionTemplate(transactionManager) {
+                    @Override
+                    public void executeWithoutResult(Consumer<TransactionStatus> action) {
+                        duringFlush.add(readOnOtherThread(reader)); // Batch taken, not written yet
+                        super.executeWithoutResult(action);
+                        duringFlush.add(statsService.getStats(playerId)); // Written, batch still in flight
+                        duringFlush.add(readOnOtherThread(reader));
+                    }
+                });
+        try {
+            statsService.recordGameCreated(playerId);
+            statsService.recordMove(playerId, 30, 3, 30);
+            statsService.flush();
+        } finally {
+            reader.shutdownNow();
+        }
+
+        assertEquals(3, duringFlush.size());
+        for (PlayerStatsResponse stats : duringFlush) {
+            assertEquals(1, stats.gamesPlayed);
+            assertEquals(30, stats.totalScore);
+            assertEquals(1, stats.movesMade);
+        }
+        assertEquals(1, statsService.getStats(playerId).movesMade);
+    }
+
+    @Test
+    void testUnknownPlayerIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> statsService.getStats(playerId + 1000));
+    }
+
+    /**
+     * Reads from another thread, outside the flush's transaction; fails if the read waits for the flush.
+     */
+    private PlayerStatsResponse readOnOtherThread(ExecutorService reader) {
+        try {
+            return reader.submit(() -> statsService.getStats(playerId)).get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new AssertionError("Read during a flush did not complete", e);
+        }
+    }
+
+    @Test
+    void testNewPlayerHasEmptyStats() {
+        PlayerStatsResponse stats = statsService.getStats(playerId);
+        assertEquals(0, stats.gamesPlayed);
+        assertEquals(0.0, stats.averageScore);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.model.Tile;
+import com.example.candycrush.model.TileColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deliberately naive model of the match rules, written straight from their definitions and with no
+ * attention to speed, for the property tests to check the real engines against.
+ */
+final class ReferenceMatchEngine {
+
+    private static final TileColor[] COLORS = TileColor.values();
+
+    private ReferenceMatchEngine() {
+    }
+
+    /**
+     * A cell is matched when it lies in some horizontal or vertical window of three equal, non-empty cells.
+     */
+    static boolean[][] matches(Tile[][] board) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        boolean[][] matched = new boolean[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                for (int k = 0; k < 3; k++) {
+                    if (sameThree(board, i, j - k, 0, 1) || sameThree(board, i - k, j, 1, 0)) {
+                        matched[i][j] = true;
+                    }
+                }
+            }
+        }
+        return matched;
+    }
+
+    private static boolean sameThree(Tile[][] board, int row, int col, int dRow, int dCol) {
+        Tile first = at(board, row, col);
+        Tile second = at(board, row + dRow, col + dCol);
+        Tile third = at(board, row + 2 * dRow, col + 2 * dCol);
+        return first != null && second != null && third != null
+                && first.getColor() == second.getColor() && second.getColor() == third.getColor();
+    }
+
+    private static Tile at(Tile[][] board, int row, int col) {
+        return row >= 0 && row < board.length && col >= 0 && col < board[row].length ? board[row][col] : null;
+    }
+
+    static boolean anyMatch(Tile[][] board) {
+        for (boolean[] row : matches(board)) {
+            for (boolean cell : row) {
+                if (cell) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A move is valid when the two cells are orthogonal neighbours and swapping them matches a cell
+     * that was not matched before.
+     */
+    static boolean isValidMove(Tile[][] board, int fromRow, int fromCol, int toRow, int toCol) {
+        if (Math.abs(fromRow - toRow) + Math.abs(fromCol - toCol) != 1) {
+            return false;
+        }
+        boolean[][] before = matches(board);
+        Tile[][] swapped = copy(board);
+        swapped[fromRow][fromCol] = board[toRow][toCol];
+        swapped[toRow][toCol] = board[fromRow][fromCol];
+        boolean[][] after = matches(swapped);
+        for (int i = 0; i < after.length; i++) {
+            for (int j = 0; j < after[i].length; j++) {
+                if (after[i][j] && !before[i][j]) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Empties the matched cells.
+     * @return the number of cells emptied
+     */
+    static int clear(Tile[][] board, boolean[][] matched) {
+        int cleared = 0;
+        for (int i = 0; i < board.length; i++) {
+            for (int j = 0; j < board[i].length; j++) {
+                if (matched[i][j]) {
+                    board[i][j] = null;
+                    cleared++;
+                }
+            }
+        }
+        return cleared;
+    }
+
+    /**
+     * Gravity: each column keeps its tiles in order, stacked at the bottom, and gets new tiles on top,
+     * drawn from the column's lowest empty cell upwards, one column at a time from the left.
+     */
+    static void gravity(Tile[][] board, Random random) {
+        int rows = board.length;
+        int cols = rows == 0 ? 0 : board[0].length;
+        for (int col = 0; col < cols; col++) {
+            List<Tile> bottomUp = new ArrayList<>();
+            for (int row = rows - 1; row >= 0; row--) {
+                if (board[row][col] != null) bottomUp.add(board[row][col]);
+            }
+            for (int k = 0; k < rows; k++) {
+                int row = rows - 1 - k;
+                board[row][col] = k < bottomUp.size() ? bottomUp.get(k) : null;
+            }
+            for (int row = rows - 1 - bottomUp.size(); row >= 0; row--) {
+                board[row][col] = Tile.of(COLORS[random.nextInt(COLORS.length)]);
+            }
+        }
+    }
+
+    /**
+     * Clears and refills until no match is left or maxDepth steps have run.
+     * @return the total number of tiles cleared
+     */
+    static int cascade(Tile[][] board, Random random, int maxDepth) {
+        int total = 0;
+        for (int depth = 0; depth < maxDepth && anyMatch(board); depth++) {
+            total += clear(board, matches(board));
+            gravity(board, random);
+        }
+        return total;
+    }
+
+    static Tile[][] copy(Tile[][] board) {
+        Tile[][] copy = new Tile[board.length][];
+        for (int i = 0; i < board.length; i++) {
+            copy[i] = board[i].clone();
+        }
+        return copy;
+    }
+}
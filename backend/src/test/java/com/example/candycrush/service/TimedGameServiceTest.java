@@ -0,0 +1,155 @@
+package com.example.candycrush.service;
+
+import com.example.candycrush.cache.GameStateCache;
+import com.example.candycrush.engine.CascadeExecutor;
+import com.example.candycrush.engine.ScalarMatchScanner;
+import com.example.candycrush.model.Game;
+import com.example.candycrush.model.GameStatus;
+import com.example.candycrush.model.Player;
+import com.example.candycrush.model.Race;
+import com.example.candycrush.repository.ArchivedGameRepository;
+import com.example.candycrush.repository.GameRepository;
+import com.example.candycrush.repository.PlayerRepository;
+import com.example.candycrush.repository.PlayerStatsRepository;
+import com.example.candycrush.repository.RaceRepository;
+import com.example.candycrush.timer.GameTickEngine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class TimedGameServiceTest {
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private RaceRepository raceRepository;
+
+    @Autowired
+    private ArchivedGameRepository archivedGameRepository;
+
+    @Autowired
+    private PlayerStatsRepository playerStatsRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Runnable> scheduled = new ArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private GameTickEngine tickEngine;
+    private GameService gameService;
+    private TimedGameService timedService;
+    private Player alice;
+    private Player bob;
+
+    @BeforeEach
+    void setUp() {
+        // Deadlines are captured instead of expired, so the tests finish games explicitly
+        tickEngine = new GameTickEngine(100, 8, 1, new SimpleMeterRegistry()) {
+            @Override
+            public void schedule(Instant deadline, Runnable action) {
+                scheduled.add(action);
+            }
+        };
+        // Fails the next transactions with an optimistic lock error, as a concurrent move would
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager) {
+            @Override
+            public <T> T execute(TransactionCallback<T> action) throws TransactionException {
+                if (failuresLeft.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                    throw new OptimisticLockingFailureException("Game saved concurrently");
+                }
+                return super.execute(action);
+            }
+        };
+        ScalarMatchScanner scanner = new ScalarMatchScanner();
+        PlayerStatsService statsService = new PlayerStatsService(playerStatsRepository, playerRepository,
+                new TransactionTemplate(transactionManager));
+        GameStateCache cache = new GameStateCache(new SimpleMeterRegistry(), 1 << 20, 600, 1000);
+        gameService = new GameService(gameRepository, playerRepository, statsService, scanner,
+                new CascadeExecutor(scanner, 50, Duration.ofMillis(50), new SimpleMeterRegistry()), cache);
+        timedService = new TimedGameService(gameRepository, playerRepository, raceRepository, archivedGameRepository,
+                gameService, tickEngine, transactionTemplate, statsService, cache, 3600, 8);
+        alice = playerRepository.save(new Player("alice"));
+        bob = playerRepository.save(new Player("bob"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        tickEngine.shutdown();
+    }
+
+    @Test
+    void testTimedGameIsFinishedAtItsDeadline() {
+        Game game = timedService.createTimedGame(alice.getId(), 60);
+        assertEquals(1, scheduled.size(), "The deadline should be scheduled");
+
+        scheduled.get(0).run();
+        assertEquals(GameStatus.FINISHED, gameRepository.findById(game.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testRaceIsFinishedWithItsWinner() {
+        Race race = timedService.createRace(List.of(alice.getId(), bob.getId()), 60);
+        List<Game> games = timedService.getRaceGames(race.getId());
+        assertEquals(2, games.size());
+        assertEquals(games.get(0).getBoard(), games.get(1).getBoard(), "Racers should share the board");
+        for (Game game : games) {
+            game.setScore(game.getPlayer().getId().equals(bob.getId()) ? 90 : 40);
+        }
+        gameRepository.saveAll(games);
+
+        timedService.finishRace(race.getId());
+        Race finished = timedService.getRace(race.getId());
+        assertEquals(GameStatus.FINISHED, finished.getStatus());
+        assertEquals(bob.getId(), finished.getWinner().getId());
+        for (Game game : timedService.getRaceGames(race.getId())) {
+            assertEquals(GameStatus.FINISHED, game.getStatus());
+        }
+    }
+
+    @Test
+    void testMoveAfterDeadlineIsRejected() {
+        Game game = timedService.createTimedGame(alice.getId(), 60);
+        game.setEndsAt(Instant.now().minusSeconds(1)); // Deadline passed, not finished by the tick engine yet
+        game = gameRepository.save(game);
+
+        MoveResult result = gameService.makeMove(game.getId(), 0, 0, 0, 1, false);
+        assertFalse(result.isApplied());
+        assertEquals(game.getVersion(), gameRepository.findById(game.getId()).orElseThrow().getVersion(),
+                "A rejected move should not be saved");
+    }
+
+    @Test
+    void testFailedFinishIsScheduledAgain() {
+        Game game = timedService.createTimedGame(alice.getId(), 60);
+        scheduled.clear();
+        failuresLeft.set(3);
+
+        timedService.finishGame(game.getId());
+        assertEquals(GameStatus.ACTIVE, gameRepository.findById(game.getId()).orElseThrow().getStatus());
+        assertEquals(1, scheduled.size(), "The finish should be handed back to the tick engine");
+
+        scheduled.get(0).run();
+        assertEquals(GameStatus.FINISHED, gameRepository.findById(game.getId()).orElseThrow().getStatus());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.candycrush.timer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTest {
+
+    @Test
+    void testTimerFiresOnFirstTickAtOrAfterDeadline() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        wheel.add(1025, "a", fired::add);
+        wheel.advanceTo(1029, fired::add);
+        assertTrue(fired.isEmpty(), "Timer must not fire early");
+        wheel.advanceTo(1030, fired::add);
+        assertEquals(List.of("a"), fired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testPastDeadlineFiresImmediately() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        wheel.add(500, "late", fired::add);
+        assertEquals(List.of("late"), fired);
+    }
+
+    @Test
+    void testDeadlinesBeyondTheFirstLevelCascadeDown() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        // Level 0 spans 40ms, level 1 160ms, level 2 640ms
+        wheel.add(35, "level0", fired::add);
+        wheel.add(150, "level1", fired::add);
+        wheel.add(600, "level2", fired::add);
+        wheel.advanceTo(149, fired::add);
+        assertEquals(List.of("level0"), fired);
+        wheel.advanceTo(160, fired::add);
+        assertEquals(List.of("level0", "level1"), fired);
+        wheel.advanceTo(609, fired::add);
+        assertEquals(2, fired.size());
+        wheel.advanceTo(610, fired::add);
+        assertEquals(List.of("level0", "level1", "level2"), fired);
+    }
+
+    @Test
+    void testRandomDeadlinesFireNeitherEarlyNorLate() {
+        long tick = 7;
+        TimingWheel<Long> wheel = new TimingWheel<>(tick, 16, 3);
+        Map<Long, Long> firedAt = new HashMap<>();
+        long[] now = {3};
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            long deadline = 3 + random.nextInt(200_000);
+            deadlines.add(deadline);
+            wheel.add(deadline, (long) i, id -> firedAt.put(id, now[0]));
+        }
+        while (now[0] < 210_000) {
+            now[0] += 1 + random.nextInt(50);
+            wheel.advanceTo(now[0], id -> firedAt.put(id, now[0]));
+        }
+        assertEquals(deadlines.size(), firedAt.size());
+        assertEquals(0, wheel.size());
+        for (int i = 0; i < deadlines.size(); i++) {
+            long deadline = deadlines.get(i);
+            long at = firedAt.get((long) i);
+            assertTrue(at >= deadline, "Timer " + i + " fired early");
+            // At most one tick of wheel granularity plus one advance step of up to 50ms late
+            assertTrue(at < deadline + 2 * tick + 50, "Timer " + i + " fired late");
+        }
+    }
+}